@@ -0,0 +1,124 @@
+package com.communi.suggestu.placitum.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the helpers that build the interpolation model of every project during configuration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InterpolationBenchmark {
+
+    /**
+     * Real world version ranges, as found in the gradle.properties of Placitum based projects.
+     */
+    private static final String[] VERSION_RANGES = {
+            "+",
+            "21.1.+",
+            "21.4.+",
+            "0.16.+",
+            "1.21.1",
+            "1.21.4",
+            "21.1.77",
+            "0.116.7+1.21.1",
+            "0.16.14",
+            "4.0.0-beta.1",
+            "[1.0,2.0)",
+            "[21.1.0,21.2)",
+            "[1.21.1]",
+            "[1.21.1,1.21.4]",
+            "[0.16.9,)",
+            "(1.0, 2.0]",
+            "[4.0.0-beta.1,5)",
+            "[24.0.1,)"
+    };
+
+    private Map<String, Object> properties;
+    private Map<String, Object> left;
+    private Map<String, Object> right;
+    private List<AbstractPlatformProject.DeclaredDependency> dependencies;
+
+    @Setup
+    public void setup() {
+        properties = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            properties.put("mod.section%d.value".formatted(i), "value-%d".formatted(i));
+            properties.put("someCamelCaseProperty%d".formatted(i), i);
+            properties.put("flag_%d".formatted(i), i % 2 == 0);
+        }
+        properties.put("minecraft.version", "1.21.1");
+        properties.put("minecraft.additionalVersions", "1.21");
+        properties.put("parchment.minecraftVersion", "1.21");
+        properties.put("parchment.version", "2024.11.17");
+        properties.put("neoforge.version", "21.1.77");
+        properties.put("fabric.loaderVersion", "0.16.9");
+        properties.put("fabric.apiVersion", "0.116.7");
+        properties.put("java.version", "21");
+        properties.put("project.owner", "communi-suggestu");
+        properties.put("nested", Map.of("a.b", "c", "d", Map.of("e", "f")));
+
+        left = new HashMap<>();
+        right = new HashMap<>();
+        AbstractPlatformProject.processPropertiesMap(left, properties);
+        AbstractPlatformProject.processPropertiesMap(right, Map.of("mod.section1.extra", "x", "minecraft.range", "[1.21,1.22)", "other.value", 1));
+
+        dependencies = List.of(
+                new AbstractPlatformProject.DeclaredDependency("net.neoforged", "neoforge", "21.1.77"),
+                new AbstractPlatformProject.DeclaredDependency("net.fabricmc", "fabric-loader", "0.16.9"),
+                new AbstractPlatformProject.DeclaredDependency("net.fabricmc.fabric-api", "fabric-api", "0.116.7+1.21.1"),
+                new AbstractPlatformProject.DeclaredDependency("com.communi-suggestu.saecularia-caudices", "saecularia-caudices-neoforge", "[2.0,3.0)"),
+                new AbstractPlatformProject.DeclaredDependency("mezz.jei", "jei-1.21.1-neoforge-api", "19.+"),
+                new AbstractPlatformProject.DeclaredDependency("org.jetbrains", "annotations", "24.0.1")
+        );
+    }
+
+    @Benchmark
+    public Map<String, Object> processPropertiesMap() {
+        final Map<String, Object> result = new HashMap<>();
+        AbstractPlatformProject.processPropertiesMap(result, properties);
+        return result;
+    }
+
+    /**
+     * Merging mutates the target, so each invocation merges into a shallow copy of it.
+     */
+    @Benchmark
+    public Map<String, Object> mergeMaps() {
+        final Map<String, Object> target = new HashMap<>(left);
+        AbstractPlatformProject.MergeMaps(target, right);
+        return target;
+    }
+
+    @Benchmark
+    public void createSupportedVersionRange(final Blackhole blackhole) {
+        for (final String range : VERSION_RANGES) {
+            blackhole.consume(AbstractPlatformProject.createSupportedVersionRange(range, true));
+            blackhole.consume(AbstractPlatformProject.createSupportedVersionRange(range, false));
+        }
+    }
+
+    @Benchmark
+    public void getFullModuleName(final Blackhole blackhole) {
+        for (final AbstractPlatformProject.DeclaredDependency dependency : dependencies) {
+            blackhole.consume(AbstractPlatformProject.getFullModuleName(dependency));
+        }
+    }
+
+    @Benchmark
+    public void convertToNotations(final Blackhole blackhole) {
+        AbstractPlatformProject.convertToNotations(dependencies).forEach(blackhole::consume);
+    }
+}
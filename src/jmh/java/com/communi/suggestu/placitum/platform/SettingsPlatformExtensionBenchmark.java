@@ -0,0 +1,98 @@
+package com.communi.suggestu.placitum.platform;
+
+import org.gradle.api.Project;
+import org.gradle.api.initialization.ProjectDescriptor;
+import org.gradle.api.initialization.Settings;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the project path lookups of the settings extension, which run once for every project of a build.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SettingsPlatformExtensionBenchmark {
+
+    @Param({"4", "32"})
+    public int commonProjects;
+
+    private SettingsPlatformExtension extension;
+    private String[] paths;
+
+    @Setup
+    public void setup() {
+        final Project project = ProjectBuilder.builder().build();
+        final Settings settings = createSettings(project);
+
+        extension = project.getObjects().newInstance(SettingsPlatformExtension.class, settings);
+        extension.core(":core");
+        extension.neoforge(":neoforge");
+        extension.fabric(":fabric");
+        extension.modernFabric(":modern-fabric");
+        for (int i = 0; i < commonProjects; i++) {
+            extension.common(":common-%d".formatted(i));
+            extension.plugin(":plugin-%d".formatted(i));
+            extension.devOnlyPlugin(":dev-plugin-%d".formatted(i));
+        }
+
+        extension.freeze();
+
+        paths = new String[] {":core", ":neoforge", ":fabric", ":common-0", ":plugin-0", ":unknown"};
+    }
+
+    /**
+     * Creates a settings instance that only supports what the extension uses while registering projects.
+     */
+    private static Settings createSettings(final Project project) {
+        final ProjectDescriptor descriptor = (ProjectDescriptor) Proxy.newProxyInstance(
+                SettingsPlatformExtensionBenchmark.class.getClassLoader(),
+                new Class<?>[] {ProjectDescriptor.class},
+                (proxy, method, args) -> method.getName().equals("getProjectDir") ? project.getProjectDir() : null
+        );
+
+        return (Settings) Proxy.newProxyInstance(
+                SettingsPlatformExtensionBenchmark.class.getClassLoader(),
+                new Class<?>[] {Settings.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getProviders" -> project.getProviders();
+                    case "project" -> descriptor;
+                    default -> null;
+                }
+        );
+    }
+
+    @Benchmark
+    public void findProject(final Blackhole blackhole) {
+        for (final String path : paths) {
+            blackhole.consume(extension.findProject(path));
+        }
+    }
+
+    @Benchmark
+    public void moduleLookups(final Blackhole blackhole) {
+        blackhole.consume(extension.getCoreProjectPath());
+        blackhole.consume(extension.getCommonProjectPaths());
+        blackhole.consume(extension.getPluginProjectPaths());
+        blackhole.consume(extension.getDevOnlyPluginProjectPaths());
+    }
+
+    @Benchmark
+    public void frozenModuleLookups(final Blackhole blackhole) {
+        for (final String path : paths) {
+            blackhole.consume(extension.isSelected(path));
+        }
+        blackhole.consume(extension.getModules());
+    }
+}
@@ -0,0 +1,157 @@
+package com.communi.suggestu.placitum.versioning;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the cached version range engine against the regex based implementation it replaced.
+ * Every range is rendered in both npm and maven syntax, the same way the interpolation model does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VersionRangeBenchmark {
+
+    private static final String[] RANGES = {
+            "+",
+            "21.1.+",
+            "0.16.+",
+            "1.21.1",
+            "21.1.77",
+            "0.116.7+1.21.1",
+            "[1.0,2.0)",
+            "[21.1.0,21.2)",
+            "[1.21.1]",
+            "[0.16.9,)",
+            "(1.0, 2.0]",
+            "[4.0.0-beta.1,5)"
+    };
+
+    private static final String[] VERSIONS = {
+            "1.21.1-20240808.144430",
+            "1.21.1",
+            "20.4.237",
+            "21.1.77"
+    };
+
+    @Benchmark
+    public void cachedEngine(final Blackhole blackhole) {
+        for (final String range : RANGES) {
+            final VersionRange parsed = VersionRange.parse(range);
+            blackhole.consume(parsed.render(true));
+            blackhole.consume(parsed.render(false));
+        }
+
+        for (final String version : VERSIONS) {
+            blackhole.consume(VersionRange.patchRange(version));
+        }
+    }
+
+    @Benchmark
+    public void regexBaseline(final Blackhole blackhole) {
+        for (final String range : RANGES) {
+            blackhole.consume(Legacy.createSupportedVersionRange(range, true));
+            blackhole.consume(Legacy.createSupportedVersionRange(range, false));
+        }
+
+        for (final String version : VERSIONS) {
+            blackhole.consume(Legacy.createVersionRange(version));
+        }
+    }
+
+    /**
+     * The previous implementation from {@code AbstractPlatformProject}, kept as the baseline.
+     */
+    private static final class Legacy {
+
+        private static final Pattern VERSION_RANGE_PATTERN = Pattern.compile("(?<range>([(\\[])(?<min>[0-9a-zA-Z.\\-+]+)(, ?(?<max>[0-9a-zA-Z.\\-+]*))?)(?<closer>[)\\]])");
+
+        private static String createVersionRange(String version) {
+            if (version.contains("-"))
+                return "[%s]".formatted(version);
+
+            final int[] parts = Arrays.stream(version.split("\\.")).mapToInt(Integer::parseInt)
+                    .toArray();
+
+            if (parts.length == 3)
+                parts[2] = parts[2] + 1;
+
+            return "[%s, %s)".formatted(version, String.join(".", Arrays.stream(parts).mapToObj(String::valueOf).toArray(String[]::new)));
+        }
+
+        private static String createSupportedVersionRange(String versionRange, boolean npmCompatible) {
+            if (versionRange.equals("+")) {
+                return npmCompatible ? "*" : "+";
+            }
+
+            List<String> allRanges = new ArrayList<>();
+            Matcher m = VERSION_RANGE_PATTERN.matcher(versionRange);
+            while (m.find()) {
+                allRanges.add(m.group());
+            }
+
+            if (allRanges.size() > 1) {
+                throw new IllegalArgumentException("Multiple none continuous version ranges are not supported");
+            }
+
+            return getBounds(versionRange).toRange(npmCompatible);
+        }
+
+        private record Bounds(String min, String max, boolean maxInclusive) {
+
+            private String toRange(boolean npmCompatible) {
+                if (max == null || max.isBlank()) {
+                    if (!maxInclusive)
+                        return npmCompatible ? ">=%s".formatted(min) : "[%s,)".formatted(min);
+                }
+
+                if (((max == null || max.isBlank()) && maxInclusive) || min.equals(max)) {
+                    return npmCompatible ? "=%s".formatted(min) : "[%s]".formatted(min);
+                }
+
+                if (!maxInclusive) {
+                    return npmCompatible ? ">=%s <%s".formatted(min, max) : "[%s,%s)".formatted(min, max);
+                }
+
+                return npmCompatible ? ">=%s <=%s".formatted(min, max) : "[%s,%s]".formatted(min, max);
+            }
+        }
+
+        private static Bounds getBounds(String version) {
+            if (version.endsWith(".+")) {
+                final String min = version.substring(0, version.length() - 2);
+                final String lastSection = min.substring(min.lastIndexOf('.') + 1);
+                final int nextLastSection = Integer.parseInt(lastSection) + 1;
+                final String max = min.substring(0, min.lastIndexOf('.') + 1) + nextLastSection;
+                return new Bounds(min, max, false);
+            }
+
+            if (!version.contains(",")
+                    && !version.contains("[")
+                    && !version.contains("]")
+                    && !version.contains("(")
+                    && !version.contains(")")) {
+                return new Bounds(version, version, true);
+            }
+
+            final Matcher matcher = VERSION_RANGE_PATTERN.matcher(version);
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Invalid version range: %s".formatted(version));
+            }
+
+            return new Bounds(matcher.group("min"), matcher.group("max"), matcher.group("closer").equals("]"));
+        }
+    }
+}
@@ -1,19 +1,47 @@
 package com.communi.suggestu.placitum;
 
 import com.communi.suggestu.placitum.core.AbstractPlatformProject;
+import com.communi.suggestu.placitum.core.Repositories;
 import com.communi.suggestu.placitum.platform.IPlatformProject;
-import com.communi.suggestu.placitum.platform.ProjectModules;
 import com.communi.suggestu.placitum.platform.SettingsPlatformExtension;
+import com.communi.suggestu.placitum.profiling.ConfigurationProfiler;
+import com.communi.suggestu.placitum.profiling.TaskTracer;
+import com.communi.suggestu.placitum.tasks.ExportCacheBundle;
+import com.communi.suggestu.placitum.tasks.ResolveLockedDependencies;
+import com.communi.suggestu.placitum.tasks.RestoreCacheBundle;
+import com.communi.suggestu.placitum.tasks.WarmupProject;
 import org.gradle.api.Action;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
+import org.gradle.api.Task;
 import org.gradle.api.initialization.Settings;
+import org.gradle.api.invocation.Gradle;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.TaskProvider;
+import org.gradle.build.event.BuildEventsListenerRegistry;
 import org.jetbrains.annotations.NotNull;
 
+import javax.inject.Inject;
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.function.Function;
 
-public class SettingsPlugin implements Plugin<Settings>
+public abstract class SettingsPlugin implements Plugin<Settings>
 {
+    private static final Logger LOGGER = Logging.getLogger(SettingsPlugin.class);
+
+    public static final String WARMUP_TASK_NAME = "placitumWarmup";
+    public static final String EXPORT_PROPERTY = "placitum.warmup.export";
+    public static final String LOCK_TASK_NAME = "placitumLockDependencies";
+
+    @Inject
+    protected abstract BuildEventsListenerRegistry getBuildEventsListenerRegistry();
+
     @Override
     public void apply(@NotNull Settings target)
     {
@@ -21,22 +49,39 @@ public class SettingsPlugin implements Plugin<Settings>
 
         target.getPlugins().apply("org.gradle.toolchains.foojay-resolver-convention");
 
+        target.getGradle().settingsEvaluated(new FreezeModules());
         target.getGradle().beforeProject(new DynamicProjectPluginAdapter(target, extension.getDefaults()));
+        target.getGradle().rootProject(new RegisterWarmupTasks(extension));
 
-        target.pluginManagement(spec -> {
-            spec.repositories(repositories -> {
-                repositories.gradlePluginPortal();
-                repositories.maven(mavenConfig -> {
-                    mavenConfig.setUrl("https://maven.neoforged.net/releases");
-                    mavenConfig.setName("NeoForged");
-                });
-                repositories.maven(mavenConfig -> {
-                    mavenConfig.setUrl("https://maven.fabricmc.net/");
-                    mavenConfig.setName("FabricMC");
-                });
-                repositories.mavenLocal();
-                repositories.mavenCentral();
+        if (target.getStartParameter().getTaskNames().stream().anyMatch(name -> name.equals(LOCK_TASK_NAME) || name.endsWith(":" + LOCK_TASK_NAME)))
+        {
+            // Writing the locks of all platform projects together is the only purpose of the task.
+            target.getStartParameter().setWriteDependencyLocks(true);
+        }
+
+        if (target.getProviders().gradleProperty(ConfigurationProfiler.PROPERTY).map(Boolean::parseBoolean).getOrElse(false))
+        {
+            final File reportFile = new File(target.getRootDir(), "build/placitum/configuration-profile.json");
+            final Provider<ConfigurationProfiler> profiler = target.getGradle().getSharedServices().registerIfAbsent(ConfigurationProfiler.NAME, ConfigurationProfiler.class, spec -> {
+                spec.getParameters().getReportFile().set(reportFile);
             });
+            target.getGradle().projectsEvaluated(new ReportConfigurationProfile(profiler));
+        }
+
+        if (target.getProviders().gradleProperty(TaskTracer.PROPERTY).map(Boolean::parseBoolean).getOrElse(false))
+        {
+            final File traceFile = new File(target.getRootDir(), "build/placitum/trace.json");
+            final Provider<TaskTracer> tracer = target.getGradle().getSharedServices().registerIfAbsent(TaskTracer.NAME, TaskTracer.class, spec -> {
+                spec.getParameters().getTraceFile().set(traceFile);
+                spec.getParameters().getOtlpEndpoint().set(target.getProviders().gradleProperty(TaskTracer.OTLP_ENDPOINT_PROPERTY));
+                spec.getParameters().getProjectKinds().set(target.getProviders().provider(new CollectProjectKinds(extension)));
+                spec.getParameters().getTaskPrefixes().set(TaskTracer.DEFAULT_TASK_PREFIXES);
+            });
+            getBuildEventsListenerRegistry().onTaskCompletion(tracer);
+        }
+
+        target.pluginManagement(spec -> {
+            spec.repositories(repositories -> Repositories.declarePluginRepositories(repositories, extension.getMavenLocalGroups().get()));
         });
     }
 
@@ -53,17 +98,115 @@ public class SettingsPlugin implements Plugin<Settings>
             if (builder != null)
             {
                 final IPlatformProject platformProject = builder.apply(project);
-                platformProject.configure(
-                    project,
-                    new ProjectModules(
-                        projectManagementExtension.getCoreProjectPath(),
-                        projectManagementExtension.getCommonProjectPaths(),
-                        projectManagementExtension.getPluginProjectPaths(),
-                        projectManagementExtension.getDevOnlyPluginProjectPaths()
-                    )
-                    , defaults
-                );
+                try (ConfigurationProfiler.Phase ignored = ConfigurationProfiler.start(project, "configure"))
+                {
+                    platformProject.configure(
+                        project,
+                        projectManagementExtension.getModules(),
+                        defaults
+                    );
+                }
             }
         }
     }
+
+    private record FreezeModules() implements Action<Settings>
+    {
+        @Override
+        public void execute(@NotNull Settings settings)
+        {
+            settings.getExtensions().getByType(SettingsPlatformExtension.class).freeze();
+        }
+    }
+
+    /**
+     * Registers the tasks which warm up, export and restore the caches of all platform projects on the root project.
+     * The warmup requires {@code --parallel} to warm up multiple projects at the same time, without it the projects
+     * are warmed up one after the other.
+     */
+    private record RegisterWarmupTasks(SettingsPlatformExtension extension) implements Action<Project>
+    {
+        @Override
+        public void execute(@NotNull Project root)
+        {
+            final File gradleUserHome = root.getGradle().getGradleUserHomeDir();
+
+            final TaskProvider<ExportCacheBundle> export = root.getTasks().register(ExportCacheBundle.NAME, ExportCacheBundle.class, task -> {
+                task.getGradleUserHome().set(gradleUserHome);
+                task.getCacheDirectories().set(ExportCacheBundle.DEFAULT_CACHE_DIRECTORIES);
+                task.getDestinationDirectory().set(root.getLayout().getBuildDirectory().dir("placitum/cache"));
+                task.mustRunAfter(WARMUP_TASK_NAME);
+            });
+
+            final boolean exportAfterWarmup = root.getProviders().gradleProperty(EXPORT_PROPERTY).map(Boolean::parseBoolean).getOrElse(false);
+            final boolean parallel = root.getGradle().getStartParameter().isParallelProjectExecutionEnabled();
+            root.getTasks().register(WARMUP_TASK_NAME, task -> {
+                task.setDescription("Sets up the loader toolchains and resolves the dependencies of all platform projects, run with --parallel to warm up projects concurrently");
+                if (!parallel) {
+                    task.doFirst(new WarnSequentialWarmup());
+                }
+                task.setGroup("placitum");
+                task.dependsOn(root.provider(new CollectProjectTasks(extension, WarmupProject.NAME)));
+                if (exportAfterWarmup) {
+                    task.finalizedBy(export);
+                }
+            });
+
+            root.getTasks().register(LOCK_TASK_NAME, task -> {
+                task.setDescription("Writes the dependency locks of all platform projects, requires placitum.locking to be enabled");
+                task.setGroup("placitum");
+                task.dependsOn(root.provider(new CollectProjectTasks(extension, ResolveLockedDependencies.NAME)));
+            });
+
+            root.getTasks().register(RestoreCacheBundle.NAME, RestoreCacheBundle.class, task -> {
+                task.getGradleUserHome().set(gradleUserHome);
+                task.getBundle().set(root.getLayout().getProjectDirectory().file(root.getProviders().gradleProperty(RestoreCacheBundle.BUNDLE_PROPERTY)));
+            });
+        }
+    }
+
+    private record WarnSequentialWarmup() implements Action<Task>
+    {
+        @Override
+        public void execute(@NotNull Task task)
+        {
+            task.getLogger().warn("Parallel execution was disabled, so the platform projects were warmed up one after the other. Run with --parallel to warm them up concurrently.");
+        }
+    }
+
+    /**
+     * Collects the paths of a task in every selected platform project.
+     */
+    private record CollectProjectTasks(SettingsPlatformExtension extension, String taskName) implements Callable<List<String>>
+    {
+        @Override
+        public List<String> call()
+        {
+            return extension.getModules().projectKinds().keySet().stream()
+                .filter(extension::isSelected)
+                .sorted()
+                .map(path -> path + ":" + taskName)
+                .toList();
+        }
+    }
+
+    private record CollectProjectKinds(SettingsPlatformExtension extension) implements Callable<Map<String, String>>
+    {
+        @Override
+        public Map<String, String> call()
+        {
+            final Map<String, String> kinds = new HashMap<>();
+            extension.getProjectKinds().forEach((path, kind) -> kinds.put(path, kind.getId()));
+            return kinds;
+        }
+    }
+
+    private record ReportConfigurationProfile(Provider<ConfigurationProfiler> profiler) implements Action<Gradle>
+    {
+        @Override
+        public void execute(@NotNull Gradle gradle)
+        {
+            profiler.get().report(LOGGER);
+        }
+    }
 }
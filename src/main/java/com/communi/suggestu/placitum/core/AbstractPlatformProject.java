@@ -1,8 +1,25 @@
 package com.communi.suggestu.placitum.core;
 
+import com.communi.suggestu.placitum.minecraft.MinecraftArtifactStore;
+import com.communi.suggestu.placitum.minecraft.MinecraftCacheLayout;
+import com.communi.suggestu.placitum.minecraft.MinecraftVersion;
 import com.communi.suggestu.placitum.platform.IPlatformProject;
 import com.communi.suggestu.placitum.platform.ProjectModules;
+import com.communi.suggestu.placitum.platform.SharedBuildData;
+import com.communi.suggestu.placitum.profiling.ConfigurationProfiler;
+import com.communi.suggestu.placitum.tasks.EmitInterpolationKeys;
+import com.communi.suggestu.placitum.tasks.FillMinecraftAssets;
+import com.communi.suggestu.placitum.tasks.InterpolateResources;
+import com.communi.suggestu.placitum.tasks.ResolveLockedDependencies;
+import com.communi.suggestu.placitum.tasks.WarmupProject;
+import com.communi.suggestu.placitum.tasks.WriteInterpolationModel;
+import com.communi.suggestu.placitum.versioning.VersionRange;
+import com.communi.suggestu.placitum.warmup.WarmupLimiter;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Multimap;
 import net.fabricmc.loom.LoomCompanionGradlePlugin;
 import net.neoforged.gradle.common.extensions.IdeManagementExtension;
@@ -11,23 +28,32 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.artifact.versioning.ComparableVersion;
 import org.gradle.api.Action;
 import org.gradle.api.InvalidUserDataException;
+import org.gradle.api.NamedDomainObjectSet;
 import org.gradle.api.Project;
-import org.gradle.api.Task;
 import org.gradle.api.artifacts.*;
+import org.gradle.api.file.Directory;
 import org.gradle.api.file.DuplicatesStrategy;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.FileCopyDetails;
+import org.gradle.api.file.SourceDirectorySet;
 import org.gradle.api.model.ObjectFactory;
 import org.gradle.api.plugins.BasePluginExtension;
 import org.gradle.api.plugins.ExtensionAware;
+import org.gradle.api.plugins.JavaPlugin;
 import org.gradle.api.plugins.JavaPluginExtension;
 import org.gradle.api.problems.ProblemGroup;
 import org.gradle.api.provider.ListProperty;
 import org.gradle.api.provider.Property;
 import org.gradle.api.provider.Provider;
 import org.gradle.api.provider.ProviderFactory;
+import org.gradle.api.provider.SetProperty;
 import org.gradle.api.publish.PublishingExtension;
+import org.gradle.api.specs.Spec;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.Nested;
+import org.gradle.api.tasks.SourceSet;
 import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.api.tasks.TaskProvider;
 import org.gradle.jvm.tasks.Jar;
 import org.gradle.jvm.toolchain.JavaLanguageVersion;
 import org.gradle.language.jvm.tasks.ProcessResources;
@@ -43,8 +69,6 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -77,43 +101,35 @@ public abstract class AbstractPlatformProject implements IPlatformProject {
     }
 
     protected String createVersionRange(String version) {
-        if (version.contains("-"))
-            return "[%s]".formatted(version);
-
-        final int[] parts = Arrays.stream(version.split("\\.")).mapToInt(Integer::parseInt)
-            .toArray();
-
-        if (parts.length == 3)
-            parts[2] = parts[2] + 1;
-
-        return "[%s, %s)".formatted(version, String.join(".", Arrays.stream(parts).mapToObj(String::valueOf).toArray(String[]::new)));
+        return VersionRange.patchRange(version);
     }
 
     @Override
     public void configure(Project project, final ProjectModules projectModules, Platform defaults) {
-        project.setGroup(project.getRootProject().getGroup());
-        project.setVersion(project.getRootProject().getVersion());
+        final SharedBuildData build = projectModules.build();
+        project.setGroup(build.group() != null ? build.group() : project.getRootProject().getGroup());
+        project.setVersion(build.version() != null ? build.version() : project.getRootProject().getVersion());
 
+        final ConfigurationProfiler.Phase pluginsPhase = ConfigurationProfiler.start(project, "plugins");
         project.getPlugins().apply("java");
         project.getPlugins().apply("idea");
         project.getPlugins().apply("java-library");
         project.getPlugins().apply("maven-publish");
         project.getPlugins().apply(LoomCompanionGradlePlugin.class);
+        pluginsPhase.close();
 
-        project.getRepositories().maven(mavenConfig -> {
-            mavenConfig.setUrl("https://ldtteam.jfrog.io/ldtteam/modding");
-            mavenConfig.setName("LDT Team Maven");
-        });
-        project.getRepositories().mavenCentral();
-        project.getRepositories().mavenLocal();
+        Repositories.declareProjectRepositories(project.getRepositories(), build.mavenLocalGroups());
 
-        final String archivesBaseName = "%s-%s".formatted(project.getRootProject().getName(), project.getName());
+        final String rootProjectName = getRootProjectName(project);
+        final String archivesBaseName = "%s-%s".formatted(rootProjectName, project.getName());
         final String moduleName = archivesBaseName.replace("-", "_").toLowerCase(Locale.ROOT);
 
         final BasePluginExtension base = project.getExtensions().getByType(BasePluginExtension.class);
         base.getArchivesName().set(archivesBaseName);
 
+        final ConfigurationProfiler.Phase platformPhase = ConfigurationProfiler.start(project, "platform-extension");
         final Platform platform = registerPlatformExtension(project, defaults);
+        platformPhase.close();
 
         final JavaPluginExtension java = project.getExtensions().getByType(JavaPluginExtension.class);
         java.getToolchain().getLanguageVersion().set(platform.getJava().getVersion().map(JavaLanguageVersion::of));
@@ -121,9 +137,9 @@ public abstract class AbstractPlatformProject implements IPlatformProject {
         project.getTasks().named("jar", Jar.class, jar -> {
             jar.getArchiveBaseName().set(archivesBaseName);
             jar.getManifest().attributes(Map.of(
-                    "Specification-Title", project.getRootProject().getName(),
+                    "Specification-Title", rootProjectName,
                     "Specification-Vendor", platform.getProject().getOwner(),
-                    "Specification-Version", project.getRootProject().getVersion(),
+                    "Specification-Version", project.getVersion(),
                     "Implementation-Title", project.getName(),
                     "Implementation-Vendor", platform.getProject().getOwner(),
                     "Implementation-Version", project.getVersion(),
@@ -135,44 +151,67 @@ public abstract class AbstractPlatformProject implements IPlatformProject {
 
         final PublishingExtension publishing = project.getExtensions().getByType(PublishingExtension.class);
         publishing.getRepositories().maven(mavenRepo -> {
-            mavenRepo.setUrl("file://" + project.getRootProject().file("repo").getAbsolutePath());
+            mavenRepo.setUrl(getRootProjectDirectory(project).dir("repo").getAsFile());
             mavenRepo.setName("ProjectLocal");
         });
 
-        project.getTasks().named("processResources", ProcessResources.class, task -> {
-            final Map<String, Object> interpolate = createInterpolationMap(project, task, platform);
-
-            final List<String> notMatchingFiles = new ArrayList<>();
-            notMatchingFiles.add("**/*.cfg");
-            notMatchingFiles.add("**/*.accesswidener");
-            notMatchingFiles.add("**/*.jar");
-            notMatchingFiles.add("**/*.png");
-            notMatchingFiles.add("**/*.jpg");
-            notMatchingFiles.add("**/*.gif");
-            notMatchingFiles.add("**/*.ico");
-            notMatchingFiles.add("**/*.svg");
-            notMatchingFiles.add("**/lang/**");
-            task.filesNotMatching(notMatchingFiles, spec -> {
-                spec.expand(interpolate);
-            });
+        final ConfigurationProfiler.Phase interpolationPhase = ConfigurationProfiler.start(project, "interpolation");
+        final Provider<Map<String, Object>> interpolation = createInterpolationModel(project, platform);
+
+        final SourceDirectorySet mainResources = project.getExtensions().getByType(SourceSetContainer.class)
+                .getByName(SourceSet.MAIN_SOURCE_SET_NAME)
+                .getResources();
+
+        final TaskProvider<WriteInterpolationModel> writeInterpolationModel = project.getTasks().register("writeInterpolationModel", WriteInterpolationModel.class, task -> {
+            task.getInterpolation().set(interpolation);
+            task.getModelFile().set(project.getLayout().getBuildDirectory().file("placitum/interpolation/model.properties"));
         });
 
-        project.getTasks().register("interpolationKeys", Task.class, task -> {
-            final Map<String, Object> interpolate = createInterpolationMap(project, task, platform);
+        final TaskProvider<InterpolateResources> interpolateResources = project.getTasks().register("interpolateResources", InterpolateResources.class, task -> {
+            // Include patterns win over exclude patterns, so the files matching them are added back to the source.
+            final List<String> includes = platform.getResources().getIncludes().get();
+            task.getSource().from(mainResources.matching(patterns -> patterns.exclude(platform.getResources().getExcludes().get())));
+            if (!includes.isEmpty()) {
+                task.getSource().from(mainResources.matching(patterns -> patterns.include(includes)));
+            }
+            task.getIncludes().set(includes);
+            task.getModel().set(writeInterpolationModel.flatMap(WriteInterpolationModel::getModelFile));
+            task.getDestinationDirectory().set(project.getLayout().getBuildDirectory().dir("generated/placitum/interpolatedResources"));
+            task.getStateDirectory().set(project.getLayout().getBuildDirectory().dir("placitum/interpolation/state"));
+        });
 
-            task.setDescription("Emits all interpolation keys Placitum makes available in the current project");
-            task.setGroup("placitum");
+        project.getTasks().named("processResources", ProcessResources.class, task -> {
+            final ExcludeTemplates excludeTemplates = new ExcludeTemplates(mainResources.getSourceDirectories());
+            task.filesNotMatching(platform.getResources().getExcludes().get(), excludeTemplates);
+            final List<String> includes = platform.getResources().getIncludes().get();
+            if (!includes.isEmpty()) {
+                task.filesMatching(includes, excludeTemplates);
+            }
+            task.from(interpolateResources);
+        });
 
-            task.doLast(task1 -> {
-                final org.gradle.api.logging.Logger logger = task1.getLogger();
+        project.getTasks().register("interpolationKeys", EmitInterpolationKeys.class, task -> {
+            task.getInterpolation().set(interpolation);
+        });
+        interpolationPhase.close();
 
-                logger.lifecycle("=======================");
-                logger.lifecycle("Interpolatable values: ");
+        final Provider<WarmupLimiter> warmupLimiter = project.getGradle().getSharedServices().registerIfAbsent(WarmupLimiter.NAME, WarmupLimiter.class, spec -> {
+            spec.getMaxParallelUsages().set(project.getProviders().gradleProperty(WarmupLimiter.PARALLELISM_PROPERTY)
+                .map(Integer::parseInt)
+                .orElse(Runtime.getRuntime().availableProcessors()));
+        });
+        project.getTasks().register(WarmupProject.NAME, WarmupProject.class, task -> {
+            task.usesService(warmupLimiter);
+            task.getClasspath().from(getWarmupConfigurations(project));
+        });
 
-                emitInterpolationMap(logger, interpolate, 0);
-                logger.lifecycle("=======================");
+        if (build.dependencyLocking()) {
+            final NamedDomainObjectSet<Configuration> lockedConfigurations = project.getConfigurations().matching(new IsLockedConfiguration());
+            lockedConfigurations.configureEach(configuration -> configuration.getResolutionStrategy().activateDependencyLocking());
+            project.getTasks().register(ResolveLockedDependencies.NAME, ResolveLockedDependencies.class, task -> {
+                task.getLockedFiles().from(lockedConfigurations.matching(Configuration::isCanBeResolved));
             });
-        });
+        }
 
         final SourceSetContainer sourceSets = project.getExtensions().getByType(SourceSetContainer.class);
 
@@ -186,41 +225,49 @@ public abstract class AbstractPlatformProject implements IPlatformProject {
         });
     }
 
-    private static void emitInterpolationMap(final org.gradle.api.logging.Logger logger, final Map<?, ?> interpolate, final int depth)
+    /**
+     * Creates the interpolation model of the given project.
+     * <p>
+     * The model is only computed once it is queried for the first time, which is during the execution of a task
+     * that consumes it, and is then shared by every consumer within the project.
+     *
+     * @param project  The project to create the model for.
+     * @param platform The platform of the project.
+     * @return A provider of an immutable snapshot of the interpolation model.
+     */
+    private Provider<Map<String, Object>> createInterpolationModel(final Project project, final Platform platform)
     {
-        final String prefix;
-        if (depth == 0) {
-            prefix = "- ";
-        } else {
-            prefix = String.join("", Collections.nCopies(depth, "  ")) + "∟> ";
-        }
-
-        interpolate.forEach((key, value) -> {
-            emitInterpolationValue(logger, depth, key, value, prefix);
-        });
+        final Provider<Map<String, String>> dependencyInterpolation = createDependencyInterpolation(project, platform);
+        final Supplier<Map<String, Object>> model = Suppliers.memoize(() -> createInterpolationSnapshot(createInterpolationMap(project, platform, dependencyInterpolation)));
+        return project.provider(model::get);
     }
 
-    private static void emitInterpolationValue(final org.gradle.api.logging.Logger logger, final int depth, final Object key, final Object value, final String prefix)
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> createInterpolationSnapshot(final Map<String, ?> interpolate)
     {
-        if (value instanceof Map<?,?> subMap) {
-            logger.lifecycle("%s%s:".formatted(prefix, key));
-            emitInterpolationMap(logger, subMap, depth + 1);
-        } else if (value instanceof Provider<?> provider) {
-            emitInterpolationValue(logger, depth, key, provider.getOrNull(), prefix);
-        } else if (value instanceof Project project) {
-            logger.lifecycle("%s%s -> %s".formatted(prefix, key, "[Project] " + project.getPath()));
-        } else {
-            logger.lifecycle("%s%s -> %s".formatted(prefix, key, value));
-        }
+        final ImmutableMap.Builder<String, Object> snapshot = ImmutableMap.builder();
+        interpolate.forEach((key, value) -> {
+            Object resolved = value;
+            while (resolved instanceof Provider<?> provider) {
+                resolved = provider.getOrNull();
+            }
+
+            if (resolved instanceof Map<?, ?> map) {
+                snapshot.put(key, createInterpolationSnapshot((Map<String, ?>) map));
+            } else if (resolved != null) {
+                snapshot.put(key, resolved);
+            }
+        });
+        return snapshot.build();
     }
 
-    private @NotNull Map<String, Object> createInterpolationMap(final Project project, final Task task, final Platform platform)
+    private @NotNull Map<String, Object> createInterpolationMap(final Project project, final Platform platform, final Provider<Map<String, String>> dependencyInterpolation)
     {
         final Map<String, Object> interpolate = new HashMap<>(Map.of(
                 "version", project.getVersion().toString(),
-                "name", project.getRootProject().getName(),
+                "name", getRootProjectName(project),
                 "project", new HashMap<>(Map.of(
-                        "package", "%s.%s".formatted(project.getRootProject().getGroup(), project.getName().toLowerCase(Locale.ROOT))
+                        "package", "%s.%s".formatted(project.getGroup(), project.getName().toLowerCase(Locale.ROOT))
                 )),
                 "minecraft", new HashMap<>(Map.of(
                         "version", platform.getMinecraft().getVersion(),
@@ -244,41 +291,77 @@ public abstract class AbstractPlatformProject implements IPlatformProject {
         processPropertiesMap(interpolate, getInterpolatedProperties(platform));
 
         final Map<String, Object> rootProjectInterpolation = new HashMap<>();
-        processPropertiesMap(rootProjectInterpolation, project.getRootProject().getProperties());
-
         final Map<String, Object> projectInterpolation = new HashMap<>();
-        processPropertiesMap(projectInterpolation, project.getProperties());
+        if (platform.getInterpolation().getScoped().get()) {
+            final Map<String, String> scopedProperties = collectScopedProperties(project.getProviders(), platform.getInterpolation().getNamespaces().get());
+            processPropertiesMap(rootProjectInterpolation, scopedProperties);
+            processPropertiesMap(projectInterpolation, scopedProperties);
+        } else {
+            processPropertiesMap(rootProjectInterpolation, createRootProjectProperties(project));
+            processPropertiesMap(projectInterpolation, project.getProperties());
+        }
 
         final Map<String, Object> projectProperties = new HashMap<>();
         projectProperties.put("project.root", rootProjectInterpolation);
         projectProperties.put("project", projectInterpolation);
         processPropertiesMap(interpolate, projectProperties);
 
-        final Multimap<String, ExternalDependency> dependenciesByName = HashMultimap.create();
-        getDependencyInterpolationConfigurations(project).forEach(configuration -> {
-            configuration.getAllDependencies()
-                    .stream()
-                    .filter(ExternalDependency.class::isInstance)
-                    .map(ExternalDependency.class::cast)
-                    .forEach(dependency -> dependenciesByName.put(dependency.getName(), dependency));
-        });
-        registerAdditionalDependencies(project, platform, dependenciesByName);
-
-        dependenciesByName.asMap().forEach((name, dependencies) -> {
-            final Map<String, ?> dependencyInterpolations = convertToNotations(name, dependencies)
-                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-            processPropertiesMap(interpolate, dependencyInterpolations);
-        });
+        processPropertiesMap(interpolate, dependencyInterpolation.get());
 
-        task.getInputs().properties(interpolate);
         return interpolate;
     }
 
+    /**
+     * Creates the properties of the root project, without accessing its model: the gradle properties of the build,
+     * together with the root project name and path, and the shared group and version every platform project uses.
+     */
+    private static Map<String, Object> createRootProjectProperties(final Project project)
+    {
+        final Map<String, Object> properties = new HashMap<>(project.getProviders().gradlePropertiesPrefixedBy("").get());
+        properties.put("name", getRootProjectName(project));
+        properties.put("path", project.getIsolated().getRootProject().getPath());
+        properties.put("group", project.getGroup().toString());
+        properties.put("version", project.getVersion().toString());
+        return properties;
+    }
+
+    /**
+     * Excludes the resource templates from the main resources, their interpolated counterparts are copied instead.
+     */
+    private record ExcludeTemplates(FileCollection resourceDirectories) implements Action<FileCopyDetails>
+    {
+        @Override
+        public void execute(@NotNull final FileCopyDetails details)
+        {
+            final File file = details.getFile();
+            for (final File directory : resourceDirectories) {
+                if (file.toPath().startsWith(directory.toPath())) {
+                    details.exclude();
+                    return;
+                }
+            }
+        }
+    }
+
     record PropertyMapEntry(String key, Object value) {
     }
 
+    /**
+     * Collects the gradle properties within the given namespaces.
+     *
+     * @param providers  The provider factory of the project.
+     * @param namespaces The namespaces to collect, a namespace {@code mod} exposes all properties named {@code mod.*}.
+     * @return The properties within the namespaces.
+     */
+    private static Map<String, String> collectScopedProperties(final ProviderFactory providers, final Set<String> namespaces) {
+        final Map<String, String> properties = new TreeMap<>();
+        namespaces.forEach(namespace -> properties.putAll(providers.gradlePropertiesPrefixedBy(namespace + ".").get()));
+        return properties;
+    }
+
     @SuppressWarnings("unchecked")
-    private static void processPropertiesMap(final Map<String, Object> result, final Map<String, ?> input) {
+    @VisibleForTesting
+    static void processPropertiesMap(final Map<String, Object> result, final Map<String, ?> input) {
         final Multimap<String, PropertyMapEntry> keyPrefixedInputMap = HashMultimap.create();
         input.forEach((key, value) -> {
             if (key.equals("properties")) {
@@ -378,7 +461,8 @@ public abstract class AbstractPlatformProject implements IPlatformProject {
     }
 
     @SuppressWarnings("unchecked")
-    private static void MergeMaps(final Map<String, Object> left, final Map<String, Object> right) {
+    @VisibleForTesting
+    static void MergeMaps(final Map<String, Object> left, final Map<String, Object> right) {
         right.forEach((key, value) -> {
             if (left.containsKey(key)) {
                 final Object leftValue = left.get(key);
@@ -393,7 +477,74 @@ public abstract class AbstractPlatformProject implements IPlatformProject {
         });
     }
 
-    private static Stream<Map.Entry<String, String>> convertToNotations(String moduleName, Collection<ExternalDependency> dependencies) {
+    /**
+     * Creates the dependency derived interpolation values, the supported version ranges of all declared external dependencies.
+     * <p>
+     * Only the declared dependencies are inspected, nothing is resolved, and nothing is computed before the
+     * provider is queried.
+     *
+     * @param project  The project to create the values for.
+     * @param platform The platform of the project.
+     * @return A provider of the {@code dependencies<Module>Npm} and {@code dependencies<Module>Maven} values.
+     */
+    private Provider<Map<String, String>> createDependencyInterpolation(final Project project, final Platform platform) {
+        return project.provider(() -> collectDeclaredDependencies(getDependencyInterpolationConfigurations(project)))
+                .zip(getAdditionalDependencies(project, platform), (declared, additional) -> {
+                    final Map<String, List<DeclaredDependency>> dependenciesByName = new LinkedHashMap<>();
+                    Stream.concat(declared.stream(), additional.stream())
+                            .forEach(dependency -> dependenciesByName.computeIfAbsent(dependency.name(), name -> new ArrayList<>()).add(dependency));
+
+                    final Map<String, String> notations = new LinkedHashMap<>();
+                    dependenciesByName.values().forEach(dependencies -> notations.putAll(
+                            convertToNotations(dependencies).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue))
+                    ));
+                    return notations;
+                });
+    }
+
+    private static List<DeclaredDependency> collectDeclaredDependencies(final Set<Configuration> configurations) {
+        return configurations.stream()
+                .flatMap(configuration -> configuration.getAllDependencies().stream())
+                .filter(ExternalDependency.class::isInstance)
+                .map(ExternalDependency.class::cast)
+                .map(DeclaredDependency::of)
+                .toList();
+    }
+
+    /**
+     * A snapshot of a declared external dependency, holding only what is needed to derive its interpolation values.
+     *
+     * @param group   The group of the dependency.
+     * @param name    The name of the dependency.
+     * @param version The declared version, or version constraint, of the dependency.
+     */
+    protected record DeclaredDependency(@Nullable String group, String name, @Nullable String version) {
+
+        private static DeclaredDependency of(final ExternalDependency dependency) {
+            return new DeclaredDependency(dependency.getGroup(), dependency.getName(), getDeclaredVersion(dependency));
+        }
+
+        private static @Nullable String getDeclaredVersion(final ExternalDependency dependency) {
+            final VersionConstraint constraint = dependency.getVersionConstraint();
+
+            if (dependency.getVersion() != null)
+                return dependency.getVersion();
+
+            if (!constraint.getRequiredVersion().isBlank())
+                return constraint.getRequiredVersion();
+
+            if (!constraint.getStrictVersion().isBlank())
+                return constraint.getStrictVersion();
+
+            if (!constraint.getPreferredVersion().isBlank())
+                return constraint.getPreferredVersion();
+
+            return null;
+        }
+    }
+
+    @VisibleForTesting
+    static Stream<Map.Entry<String, String>> convertToNotations(Collection<DeclaredDependency> dependencies) {
         return dependencies.stream()
                 .flatMap(dependency -> convertToNotations(getFullModuleName(dependency), dependency))
                 .distinct();
@@ -404,8 +555,9 @@ public abstract class AbstractPlatformProject implements IPlatformProject {
         return Arrays.stream(parts).reduce((s, s2) -> s + StringUtils.capitalize(s2)).orElseThrow();
     }
 
-    private static String getFullModuleName(ExternalDependency dependency) {
-        String group = dependency.getGroup();
+    @VisibleForTesting
+    static String getFullModuleName(DeclaredDependency dependency) {
+        String group = dependency.group();
         if (group != null) {
             group = group.toLowerCase(Locale.ROOT);
             final String[] sections = group.split("\\.");
@@ -414,10 +566,10 @@ public abstract class AbstractPlatformProject implements IPlatformProject {
             }
         }
 
-        return (group + StringUtils.capitalize(adaptModuleName(dependency.getName()))).replace("-", "_");
+        return (group + StringUtils.capitalize(adaptModuleName(dependency.name()))).replace("-", "_");
     }
 
-    private static Stream<Map.Entry<String, String>> convertToNotations(String name, ExternalDependency dependency) {
+    private static Stream<Map.Entry<String, String>> convertToNotations(String name, DeclaredDependency dependency) {
         return Stream.of(
                 Map.entry(
                         "dependencies%sNpm".formatted(StringUtils.capitalize(name)),
@@ -436,7 +588,9 @@ public abstract class AbstractPlatformProject implements IPlatformProject {
 
     protected abstract Map<String, ?> getInterpolatedProperties(Platform platform);
 
-    protected void registerAdditionalDependencies(Project project, Platform platform, Multimap<String, ExternalDependency> byNameDependencies) {};
+    protected Provider<List<DeclaredDependency>> getAdditionalDependencies(Project project, Platform platform) {
+        return project.provider(List::of);
+    }
 
     protected abstract Set<Configuration> getDependencyInterpolationConfigurations(Project project);
 
@@ -459,116 +613,140 @@ public abstract class AbstractPlatformProject implements IPlatformProject {
             isRunningWithIdea(project);
     }
 
-    protected final boolean isRunningWithIdea(Project project) {
-        final File DotIdeaDirectory = new File(project.getRootProject().getProjectDir(), ".idea");
-        final File GradleXml = new File(DotIdeaDirectory, "gradle.xml");
-        try {
-            return new String(Files.readAllBytes(GradleXml.toPath())).contains("<option name=\"delegatedBuild\" value=\"false\" />");
-        } catch (IOException ignored) {
-            return false;
-        }
+    /**
+     * Creates a dependency on another project of the build, by path, without accessing its model.
+     */
+    protected static Dependency createProjectDependency(final Project project, final String path) {
+        return project.getDependencies().project(Map.of("path", path));
     }
 
-    private static @NotNull String createSupportedVersionRange(ExternalDependency dependency, boolean npmCompatible) {
-        final VersionConstraint constraint = dependency.getVersionConstraint();
-
-        if (dependency.getVersion() != null)
-            return createSupportedVersionRange(dependency.getVersion(), npmCompatible);
-
-        if (!constraint.getRequiredVersion().isBlank())
-            return createSupportedVersionRange(constraint.getRequiredVersion(), npmCompatible);
-
-        if (!constraint.getStrictVersion().isBlank())
-            return createSupportedVersionRange(constraint.getStrictVersion(), npmCompatible);
-
-        if (!constraint.getPreferredVersion().isBlank())
-            return createSupportedVersionRange(constraint.getPreferredVersion(), npmCompatible);
-
-        throw new InvalidUserDataException("Dependency does not have a version constraint or version specified");
+    protected static String getProjectName(final String path) {
+        return path.substring(path.lastIndexOf(':') + 1);
     }
 
-    private static final Pattern VERSION_RANGE_PATTERN = Pattern.compile("(?<range>([(\\[])(?<min>[0-9a-zA-Z.\\-+]+)(, ?(?<max>[0-9a-zA-Z.\\-+]*))?)(?<closer>[)\\]])");
+    protected static String getRootProjectName(final Project project) {
+        return project.getIsolated().getRootProject().getName();
+    }
 
-    protected static String createSupportedVersionRange(String versionRange, boolean npmCompatible) {
-        if (versionRange.equals("+")) {
-            if (npmCompatible) {
-                return "*";
-            }
+    protected static Directory getRootProjectDirectory(final Project project) {
+        return project.getIsolated().getRootProject().getProjectDirectory();
+    }
 
-            return "+"; //Wildcard matches against anything recommending the + version.
+    /**
+     * Selects the configurations Placitum locks: the classpaths, the bundling configurations of NeoForge and fabric,
+     * and the mod configurations of Loom.
+     */
+    private record IsLockedConfiguration() implements Spec<Configuration> {
+        @Override
+        public boolean isSatisfiedBy(final Configuration configuration) {
+            final String name = configuration.getName();
+            return name.endsWith("CompileClasspath") || name.endsWith("RuntimeClasspath")
+                || name.equals(JavaPlugin.COMPILE_CLASSPATH_CONFIGURATION_NAME) || name.equals(JavaPlugin.RUNTIME_CLASSPATH_CONFIGURATION_NAME)
+                || name.equals("jarJar") || name.equals("includedLibraries") || name.equals("bundledProjects")
+                || name.endsWith("ForgeLibrary")
+                || (name.startsWith("mod") && name.length() > 3 && Character.isUpperCase(name.charAt(3)));
         }
+    }
 
-        List<String> allRanges = new ArrayList<>();
-        Matcher m = VERSION_RANGE_PATTERN.matcher(versionRange);
-        while (m.find()) {
-            allRanges.add(m.group());
-        }
+    /**
+     * @return The configurations a warmup resolves, resolving them sets up the loader toolchain of the project.
+     */
+    protected Set<Configuration> getWarmupConfigurations(final Project project) {
+        return Set.of(
+            project.getConfigurations().getByName(JavaPlugin.COMPILE_CLASSPATH_CONFIGURATION_NAME),
+            project.getConfigurations().getByName(JavaPlugin.RUNTIME_CLASSPATH_CONFIGURATION_NAME)
+        );
+    }
 
-        if (allRanges.size() > 1) {
-            throw new InvalidUserDataException("Multiple none continuous version ranges are not supported");
+    /**
+     * Fills the cache of a loader toolchain from the Minecraft artifact store, when the store is enabled.
+     * The version metadata and jars are placed while the project is evaluated, the assets only when they are needed.
+     * This needs to be called before the toolchain plugin is applied, as the toolchains set up Minecraft in an
+     * afterEvaluate action they register when they are applied.
+     */
+    protected static void fillMinecraftCache(final Project project, final Platform platform, final MinecraftCacheLayout.Toolchain toolchain) {
+        if (!isMinecraftArtifactStoreEnabled(project)) {
+            return;
         }
 
-        return getBounds(versionRange).toRange(npmCompatible);
+        final Provider<MinecraftArtifactStore> store = registerMinecraftArtifactStore(project);
+        project.afterEvaluate(new FillMinecraftCache(store, platform.getMinecraft().getVersion(), toolchain));
+
+        final TaskProvider<FillMinecraftAssets> fillAssets = project.getTasks().register(FillMinecraftAssets.NAME, FillMinecraftAssets.class, task -> {
+            task.usesService(store);
+            task.getStore().set(store);
+            task.getMinecraftVersion().set(platform.getMinecraft().getVersion());
+            task.getToolchain().set(toolchain);
+            task.getGradleUserHome().set(project.getGradle().getGradleUserHomeDir());
+        });
+        project.getTasks().named(new IsAssetDownload()).configureEach(task -> task.dependsOn(fillAssets));
     }
 
-    private record Bounds(String min, @Nullable String max, boolean maxInclusive) {
+    private static boolean isMinecraftArtifactStoreEnabled(final Project project) {
+        return project.getProviders().gradleProperty(MinecraftArtifactStore.PROPERTY).map(Boolean::parseBoolean).getOrElse(false)
+            || project.getProviders().gradleProperty(MinecraftArtifactStore.MIRROR_PROPERTY).isPresent();
+    }
 
-        private String toRange(boolean npmCompatible) {
-            if (max == null || max.isBlank()) {
-                if (!maxInclusive)
-                    return npmCompatible ? ">=%s".formatted(min) : "[%s,)".formatted(min);
-            }
+    private static Provider<MinecraftArtifactStore> registerMinecraftArtifactStore(final Project project) {
+        final File storeDirectory = new File(project.getGradle().getGradleUserHomeDir(), "caches/placitum/minecraft");
+        final Provider<String> mirror = project.getProviders().gradleProperty(MinecraftArtifactStore.MIRROR_PROPERTY);
+        final boolean offline = project.getGradle().getStartParameter().isOffline();
+        return project.getGradle().getSharedServices().registerIfAbsent(MinecraftArtifactStore.NAME, MinecraftArtifactStore.class, spec -> {
+            spec.getParameters().getStoreDirectory().set(storeDirectory);
+            spec.getParameters().getMirror().set(mirror);
+            spec.getParameters().getOffline().set(offline);
+        });
+    }
 
-            if (((max == null || max.isBlank()) && maxInclusive) || min.equals(max)) {
-                return npmCompatible ? "=%s".formatted(min) : "[%s]".formatted(min);
+    /**
+     * Places the version metadata and jars of the Minecraft version of the project from the artifact store into the
+     * cache of the loader toolchain.
+     */
+    private record FillMinecraftCache(Provider<MinecraftArtifactStore> store, Provider<String> minecraftVersion, MinecraftCacheLayout.Toolchain toolchain) implements Action<Project> {
+        @Override
+        public void execute(final Project project) {
+            final String version = minecraftVersion.getOrNull();
+            if (version == null) {
+                return;
             }
 
-            if (!maxInclusive) {
-                return npmCompatible ? ">=%s <%s".formatted(min, max) : "[%s,%s)".formatted(min, max);
+            final MinecraftArtifactStore artifactStore = store.get();
+            final MinecraftVersion resolved = artifactStore.resolve(version);
+            if (resolved != null) {
+                toolchain.layout(project.getGradle().getGradleUserHomeDir(), version).fill(artifactStore, resolved);
             }
-
-            return npmCompatible ? ">=%s <=%s".formatted(min, max) : "[%s,%s]".formatted(min, max);
         }
     }
 
-    private static Bounds getBounds(String version) {
-        if (version.endsWith(".+")) {
-            return getPlusBounds(version);
-        }
-
-        if (!version.contains(",")
-                && !version.contains("[")
-                && !version.contains("]")
-                && !version.contains("(")
-                && !version.contains(")")) {
-            return new Bounds(version, version, true);
+    /**
+     * Selects the asset download tasks of Loom and NeoGradle.
+     */
+    private record IsAssetDownload() implements Spec<String> {
+        @Override
+        public boolean isSatisfiedBy(final String name) {
+            return name.equals("downloadAssets") || name.endsWith("DownloadAssets");
         }
+    }
 
-        final Matcher matcher = VERSION_RANGE_PATTERN.matcher(version);
-        if (!matcher.matches()) {
-            throw new InvalidUserDataException("Invalid version range: %s".formatted(version));
+    protected final boolean isRunningWithIdea(Project project) {
+        final File DotIdeaDirectory = getRootProjectDirectory(project).dir(".idea").getAsFile();
+        final File GradleXml = new File(DotIdeaDirectory, "gradle.xml");
+        try {
+            return new String(Files.readAllBytes(GradleXml.toPath())).contains("<option name=\"delegatedBuild\" value=\"false\" />");
+        } catch (IOException ignored) {
+            return false;
         }
-
-        final String min = matcher.group("min");
-        final String max = matcher.group("max");
-        final String closer = matcher.group("closer");
-        final boolean isInclusive = closer.equals("]");
-
-        return new Bounds(min, max, isInclusive);
     }
 
-    private static Bounds getPlusBounds(String version) {
-        //This version ends with .+, we need to remove it to get the lower bound
-        //Then extract the last section and increment it by one to get the max
-        //The result is then a max exclusive range.
-        final String min = version.substring(0, version.length() - 2);
-
-        final String lastSection = min.substring(min.lastIndexOf('.') + 1);
-        final int nextLastSection = Integer.parseInt(lastSection) + 1;
+    private static @NotNull String createSupportedVersionRange(DeclaredDependency dependency, boolean npmCompatible) {
+        if (dependency.version() == null)
+            throw new InvalidUserDataException("Dependency does not have a version constraint or version specified");
 
-        final String max = min.substring(0, min.lastIndexOf('.') + 1) + nextLastSection;
+        return createSupportedVersionRange(dependency.version(), npmCompatible);
+    }
 
-        return new Bounds(min, max, false);
+    protected static String createSupportedVersionRange(String versionRange, boolean npmCompatible) {
+        return VersionRange.parse(versionRange).render(npmCompatible);
     }
 
     private static @NotNull String createSupportedVersionRange(boolean npmCompatible, List<ComparableVersion> versions) {
@@ -600,6 +778,8 @@ public abstract class AbstractPlatformProject implements IPlatformProject {
         private final PlatformMinecraft minecraft;
         private final PlatformParchment parchment;
         private final PlatformDefaults defaults;
+        private final PlatformResources resources;
+        private final PlatformInterpolation interpolation;
 
         protected Platform(final ObjectFactory objects, final ProviderFactory providers) {
             this.java = objects.newInstance(PlatformJava.class, objects, providers);
@@ -607,6 +787,8 @@ public abstract class AbstractPlatformProject implements IPlatformProject {
             this.minecraft = objects.newInstance(PlatformMinecraft.class, objects, providers);
             this.parchment = objects.newInstance(PlatformParchment.class, objects, providers, minecraft);
             this.defaults = objects.newInstance(PlatformDefaults.class, objects, providers);
+            this.resources = objects.newInstance(PlatformResources.class, objects, providers);
+            this.interpolation = objects.newInstance(PlatformInterpolation.class, objects, providers);
         }
 
         protected Platform(final Project project, final Platform settings) {
@@ -617,6 +799,8 @@ public abstract class AbstractPlatformProject implements IPlatformProject {
             this.minecraft.from(project.getObjects(), project.getProviders(), settings.minecraft);
             this.parchment.from(project.getObjects(), project.getProviders(), settings.parchment, this.minecraft);
             this.defaults.from(project.getObjects(), project.getProviders(), settings.defaults);
+            this.resources.from(project.getObjects(), project.getProviders(), settings.resources);
+            this.interpolation.from(project.getObjects(), project.getProviders(), settings.interpolation);
         }
 
         public abstract static class PlatformJava {
@@ -774,6 +958,115 @@ public abstract class AbstractPlatformProject implements IPlatformProject {
             }
         }
 
+        /**
+         * Controls which resources are interpolated.
+         * <p>
+         * Resources matching an include pattern are always interpolated, even when they also match an exclude pattern.
+         * Other resources matching an exclude pattern are copied as is. All remaining resources have their content inspected: binary files, and text files without a
+         * template marker, are copied as is.
+         */
+        public abstract static class PlatformResources {
+
+            public static final List<String> DEFAULT_EXCLUDES = List.of(
+                    "**/*.cfg",
+                    "**/*.accesswidener",
+                    "**/*.jar",
+                    "**/*.png",
+                    "**/*.jpg",
+                    "**/*.gif",
+                    "**/*.ico",
+                    "**/*.svg",
+                    "**/*.ogg",
+                    "**/*.nbt",
+                    "**/*.bin",
+                    "**/*.ttf",
+                    "**/*.otf",
+                    "**/lang/**"
+            );
+
+            @Inject
+            public PlatformResources(final ObjectFactory objects, final ProviderFactory providers) {
+                getExcludes().convention(DEFAULT_EXCLUDES);
+                getIncludes().convention(List.of());
+            }
+
+            @Input
+            public abstract ListProperty<String> getExcludes();
+
+            @Input
+            public abstract ListProperty<String> getIncludes();
+
+            public void exclude(String... patterns) {
+                getExcludes().addAll(patterns);
+            }
+
+            public void include(String... patterns) {
+                getIncludes().addAll(patterns);
+            }
+
+            private void from(ObjectFactory objects, ProviderFactory providers, PlatformResources resources) {
+                getExcludes().set(resources.getExcludes());
+                getIncludes().set(resources.getIncludes());
+            }
+        }
+
+        /**
+         * Controls which project properties are exposed to resource interpolation.
+         * <p>
+         * By default, all properties of the project and the root project are exposed. In scoped mode only the gradle
+         * properties within the declared namespaces are, which keeps the interpolation inputs small and stable.
+         */
+        public abstract static class PlatformInterpolation {
+
+            @Inject
+            public PlatformInterpolation(final ObjectFactory objects, final ProviderFactory providers) {
+                getScoped().convention(getDefaultScoped(providers));
+                getNamespaces().convention(getDefaultNamespaces(providers));
+            }
+
+            private static @NotNull Provider<Boolean> getDefaultScoped(ProviderFactory providers) {
+                return providers.gradleProperty("placitum.interpolation.scoped").map(String::trim).map(Boolean::parseBoolean).orElse(false);
+            }
+
+            private static @NotNull Provider<Set<String>> getDefaultNamespaces(ProviderFactory providers) {
+                return providers.gradleProperty("placitum.interpolation.namespaces").map(String::trim).map(s -> {
+                    final Set<String> result = new LinkedHashSet<>();
+                    for (final String namespace : s.split(",")) {
+                        if (!namespace.isBlank()) {
+                            result.add(namespace.trim());
+                        }
+                    }
+                    return result;
+                }).orElse(Set.of("mod", "minecraft"));
+            }
+
+            @Input
+            public abstract Property<Boolean> getScoped();
+
+            @Input
+            public abstract SetProperty<String> getNamespaces();
+
+            /**
+             * Enables scoped mode, and exposes the given namespaces in addition to the configured ones, which default
+             * to {@code mod} and {@code minecraft}. Set {@link #getNamespaces()} to replace them instead.
+             */
+            public void scoped(String... namespaces) {
+                getScoped().set(true);
+                // addAll discards a convention, so the current namespaces are made the explicit value first.
+                getNamespaces().set(getNamespaces().get());
+                getNamespaces().addAll(namespaces);
+            }
+
+            private void from(ObjectFactory objects, ProviderFactory providers, PlatformInterpolation interpolation) {
+                getScoped().set(
+                        interpolation.getScoped().orElse(getDefaultScoped(providers))
+                );
+                getNamespaces().set(
+                        interpolation.getNamespaces().orElse(getDefaultNamespaces(providers))
+                );
+            }
+        }
+
         @Nested
         public PlatformJava getJava() {
             return java;
@@ -816,6 +1109,24 @@ public abstract class AbstractPlatformProject implements IPlatformProject {
         public void defaults(Action<? super PlatformDefaults> action) {
             action.execute(getDefaults());
         }
+
+        @Nested
+        public PlatformInterpolation getInterpolation() {
+            return interpolation;
+        }
+
+        public void interpolation(Action<? super PlatformInterpolation> action) {
+            action.execute(getInterpolation());
+        }
+
+        @Nested
+        public PlatformResources getResources() {
+            return resources;
+        }
+
+        public void resources(Action<? super PlatformResources> action) {
+            action.execute(getResources());
+        }
     }
 
     public enum ProjectType {
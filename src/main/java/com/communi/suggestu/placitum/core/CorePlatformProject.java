@@ -2,11 +2,7 @@ package com.communi.suggestu.placitum.core;
 
 import com.communi.suggestu.placitum.platform.IPlatformProject;
 import com.communi.suggestu.placitum.platform.ProjectModules;
-import net.neoforged.gradle.dsl.common.extensions.AccessTransformers;
-import net.neoforged.gradle.dsl.common.extensions.Minecraft;
 import net.neoforged.gradle.dsl.common.extensions.sourceset.RunnableSourceSet;
-import net.neoforged.gradle.dsl.common.extensions.subsystems.Subsystems;
-import net.neoforged.gradle.neoform.NeoFormPlugin;
 import org.gradle.api.Project;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.Dependency;
@@ -15,13 +11,15 @@ import org.gradle.api.plugins.JavaPlugin;
 import org.gradle.api.provider.Property;
 import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.SourceSet;
 import org.gradle.api.tasks.SourceSetContainer;
 
 import javax.inject.Inject;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 public final class CorePlatformProject extends AbstractPlatformProject implements IPlatformProject {
 
@@ -35,19 +33,14 @@ public final class CorePlatformProject extends AbstractPlatformProject implement
 
         final Platform platform = project.getExtensions().getByType(Platform.class);
 
-        project.getPlugins().apply(NeoFormPlugin.class);
+        final Set<String> commonProjects = new HashSet<>(projectModules.commonProjects());
 
-        final Set<Project> commonProjects =
-            projectModules.commonProjects().stream()
-                .map(project::project)
-                .collect(Collectors.toSet());
-
-        if (commonProjects.contains(project)) {
+        if (commonProjects.contains(project.getPath())) {
             commonProjects.clear();
         }
 
-        for (Project commonProject : commonProjects) {
-            final Dependency commonProjectDependency = project.getDependencies().create(commonProject);
+        for (String commonProject : commonProjects) {
+            final Dependency commonProjectDependency = createProjectDependency(project, commonProject);
             excludeMinecraftDependencies(commonProjectDependency);
 
             final Configuration apiConfiguration = project.getConfigurations().getByName(JavaPlugin.API_CONFIGURATION_NAME);
@@ -55,27 +48,18 @@ public final class CorePlatformProject extends AbstractPlatformProject implement
         }
 
         var neoformVersionRange = platform.getNeoFormVersion().map(v -> this.createVersionRange(v));
-
-        project.getDependencies().addProvider(JavaPlugin.IMPLEMENTATION_CONFIGURATION_NAME, neoformVersionRange
-                        .map("net.minecraft:neoform_joined:%s"::formatted));
-
-        final Subsystems subsystems = project.getExtensions().getByType(Subsystems.class);
-        subsystems.parchment(parchment -> {
-            parchment.getMinecraftVersion().set(platform.getParchment().getMinecraftVersion());
-            parchment.getMappingsVersion().set(platform.getParchment().getVersion());
-        });
-
-        final AccessTransformers accessTransformers = project.getExtensions().getByType(Minecraft.class).getAccessTransformers();
-        accessTransformers.getFiles().from(platform.getAccessTransformers());
+        final boolean runsNeoForm = NeoFormRuntime.configure(project, projectModules, platform, neoformVersionRange, platform.getAccessTransformers());
 
         final SourceSetContainer sourceSets = project.getExtensions().getByType(SourceSetContainer.class);
-        sourceSets.configureEach(sourceSet -> {
-            final RunnableSourceSet runSourceSet = sourceSet.getExtensions().getByType(RunnableSourceSet.class);
-            runSourceSet.getModIdentifier().set(project.getRootProject().getName().toLowerCase());
-        });
+        if (runsNeoForm) {
+            sourceSets.configureEach(sourceSet -> {
+                final RunnableSourceSet runSourceSet = sourceSet.getExtensions().getByType(RunnableSourceSet.class);
+                runSourceSet.getModIdentifier().set(getRootProjectName(project).toLowerCase());
+            });
+        }
 
         final SourceSet main = sourceSets.getByName(SourceSet.MAIN_SOURCE_SET_NAME);
-        main.getResources().srcDir(project.file("src/main/generated").getAbsolutePath());
+        main.getResources().srcDir(project.getLayout().getProjectDirectory().dir("src/main/generated"));
     }
 
     @Override
@@ -107,6 +91,7 @@ public final class CorePlatformProject extends AbstractPlatformProject implement
         }
 
         @InputFiles
+        @PathSensitive(PathSensitivity.NONE)
         public abstract ConfigurableFileCollection getAccessTransformers();
 
         public abstract Property<String> getNeoFormVersion();
@@ -1,8 +1,10 @@
 package com.communi.suggestu.placitum.core;
 
+import com.communi.suggestu.placitum.minecraft.MinecraftCacheLayout;
 import com.communi.suggestu.placitum.platform.ProjectModules;
+import com.communi.suggestu.placitum.platform.SharedBuildData;
+import com.communi.suggestu.placitum.profiling.ConfigurationProfiler;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 import net.neoforged.gradle.common.extensions.IdeManagementExtension;
 import net.neoforged.gradle.dsl.common.extensions.AccessTransformers;
@@ -19,12 +21,13 @@ import org.gradle.api.GradleException;
 import org.gradle.api.InvalidUserDataException;
 import org.gradle.api.Project;
 import org.gradle.api.Task;
+import org.gradle.api.Transformer;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.Dependency;
-import org.gradle.api.artifacts.ExternalDependency;
 import org.gradle.api.artifacts.ModuleDependency;
 import org.gradle.api.attributes.Usage;
 import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.Directory;
 import org.gradle.api.plugins.BasePlugin;
 import org.gradle.api.plugins.ExtensionAware;
 import org.gradle.api.plugins.JavaPlugin;
@@ -38,6 +41,7 @@ import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputFiles;
 import org.gradle.api.tasks.PathSensitive;
 import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.SourceSet;
 import org.gradle.api.tasks.SourceSetContainer;
 import org.gradle.api.tasks.TaskProvider;
 import org.gradle.api.tasks.bundling.AbstractArchiveTask;
@@ -48,6 +52,8 @@ import org.gradle.plugins.ide.idea.model.IdeaProject;
 import org.jetbrains.annotations.NotNull;
 
 import javax.inject.Inject;
+import java.io.File;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -72,32 +78,28 @@ public abstract class NeoForgePlatformProject extends AbstractPlatformProject
     {
         super.configure(project, projectModules, defaults);
 
+        fillMinecraftCache(project, project.getExtensions().getByType(Platform.class), MinecraftCacheLayout.Toolchain.NEO_GRADLE);
+
+        final ConfigurationProfiler.Phase userDevPhase = ConfigurationProfiler.start(project, "neoforge-plugin");
         project.getPlugins().apply(UserDevPlugin.class);
+        userDevPhase.close();
 
         Subsystems subsystems = project.getExtensions().getByType(Subsystems.class);
         subsystems.getConventions().getIde().getIdea().getShouldUseCompilerDetection().set(true);
 
-        final Set<Project> commonProjects = projectModules.commonProjects().stream()
-            .map(project::project)
-            .collect(Collectors.toSet());
-        commonProjects.add(project.project(projectModules.coreCodeProject()));
-
-        final Set<Project> allPluginProjects = projectModules.pluginProjects().stream()
-            .map(project::project)
-            .collect(Collectors.toSet());
+        final SharedBuildData build = projectModules.build();
 
-        final Set<Project> includedPluginProjects = Sets.newHashSet(allPluginProjects);
+        final Set<String> commonProjects = Sets.newHashSet(projectModules.commonProjects());
+        commonProjects.add(projectModules.coreCodeProject());
 
-        allPluginProjects.addAll(
-            projectModules.devPluginProjects().stream()
-                .map(project::project)
-                .collect(Collectors.toSet())
-        );
+        final Set<String> includedPluginProjects = Sets.newHashSet(projectModules.pluginProjects());
 
-        final Project coreProject = project.project(projectModules.coreCodeProject());
+        final Set<String> allPluginProjects = Sets.newHashSet(includedPluginProjects);
+        allPluginProjects.addAll(projectModules.devPluginProjects());
 
         final Platform platform = project.getExtensions().getByType(Platform.class);
 
+        final ConfigurationProfiler.Phase jarJarPhase = ConfigurationProfiler.start(project, "jarjar");
         final JarJar jarJar = project.getExtensions().getByType(JarJar.class);
         jarJar.enable();
 
@@ -109,24 +111,25 @@ public abstract class NeoForgePlatformProject extends AbstractPlatformProject
         compileOnly.extendsFrom(compileOnlyButApiElements);
         apiElements.extendsFrom(compileOnlyButApiElements);
 
-        for (Project commonProject : commonProjects)
+        // All platform projects share the settings level version, so the bundled projects never need to be evaluated to know theirs.
+        final String sharedVersion = project.getVersion().toString();
+
+        for (String commonProjectPath : commonProjects)
         {
-            final Dependency commonProjectDependency = project.getDependencies().create(commonProject);
+            final Dependency commonProjectDependency = createProjectDependency(project, commonProjectPath);
             excludeMinecraftDependencies(commonProjectDependency);
 
             api.getDependencies().add(commonProjectDependency);
 
-            jarJar.ranged(commonProjectDependency, "[%s]".formatted(commonProject.getVersion()));
-            jarJar.pin(commonProjectDependency, commonProject.getVersion().toString());
+            jarJar.ranged(commonProjectDependency, "[%s]".formatted(sharedVersion));
+            jarJar.pin(commonProjectDependency, sharedVersion);
 
             project.getDependencies().add(JarJar.EXTENSION_NAME, commonProjectDependency);
-
-            project.evaluationDependsOn(commonProject.getPath());
         }
 
-        for (Project pluginProject : allPluginProjects)
+        for (String pluginProjectPath : allPluginProjects)
         {
-            final Dependency pluginProjectDependency = project.getDependencies().create(pluginProject);
+            final Dependency pluginProjectDependency = createProjectDependency(project, pluginProjectPath);
             excludeMinecraftDependencies(pluginProjectDependency);
             if (pluginProjectDependency instanceof ModuleDependency moduleDependency) {
                 moduleDependency.setTransitive(false);
@@ -134,13 +137,14 @@ public abstract class NeoForgePlatformProject extends AbstractPlatformProject
 
             api.getDependencies().add(pluginProjectDependency);
 
-            if (includedPluginProjects.contains(pluginProject)) {
-                jarJar.ranged(pluginProjectDependency, "[%s]".formatted(pluginProject.getVersion()));
-                jarJar.pin(pluginProjectDependency, pluginProject.getVersion().toString());
+            if (includedPluginProjects.contains(pluginProjectPath)) {
+                jarJar.ranged(pluginProjectDependency, "[%s]".formatted(sharedVersion));
+                jarJar.pin(pluginProjectDependency, sharedVersion);
 
                 project.getDependencies().add(JarJar.EXTENSION_NAME, pluginProjectDependency);
             }
         }
+        jarJarPhase.close();
 
         subsystems.parchment(parchment -> {
             parchment.getMinecraftVersion().set(platform.getParchment().getMinecraftVersion());
@@ -169,7 +173,7 @@ public abstract class NeoForgePlatformProject extends AbstractPlatformProject
         final SourceSetContainer sourceSets = project.getExtensions().getByType(SourceSetContainer.class);
         sourceSets.configureEach(sourceSet -> {
             final RunnableSourceSet runSourceSet = sourceSet.getExtensions().getByType(RunnableSourceSet.class);
-            runSourceSet.getModIdentifier().set(project.getRootProject().getName().toLowerCase());
+            runSourceSet.getModIdentifier().set(getRootProjectName(project).toLowerCase());
         });
 
         final RunManager runs = project.getExtensions().getByType(RunManager.class);
@@ -207,31 +211,32 @@ public abstract class NeoForgePlatformProject extends AbstractPlatformProject
             processResources.from(platform.getNeoForge().getAccessTransformers(), spec -> spec.into("META-INF"));
         });
 
+        final ConfigurationProfiler.Phase runsPhase = ConfigurationProfiler.start(project, "runs");
         runs.register("client");
         runs.register("server");
 
         for (final String dataRun : platform.getNeoForge().getDataRuns().get())
         {
             runs.register(dataRun, run -> {
-                final List<String> modOutputArguments = new ArrayList<>(List.of(
-                    "--output", coreProject.file("src/main/generated").getAbsolutePath()
-                ));
-                modOutputArguments.addAll(commonProjects.stream()
-                    .map(p -> p.file("src/main/resources").getAbsolutePath())
-                    .flatMap(f -> Stream.of("--existing", f))
-                    .toList());
-                modOutputArguments.addAll(allPluginProjects.stream()
-                    .map(p -> p.file("src/main/resources").getAbsolutePath())
-                    .flatMap(f -> Stream.of("--existing", f))
-                    .toList());
-
-                run.getArguments().addAll(modOutputArguments);
+                final File output = new File(build.getProjectDirectory(projectModules.coreCodeProject()), "src/main/generated");
+                final List<File> existing = Stream.concat(commonProjects.stream(), allPluginProjects.stream())
+                    .map(p -> new File(build.getProjectDirectory(p), "src/main/resources"))
+                    .toList();
+
+                run.getArguments().addAll(run.getWorkingDirectory().map(new DataRunArguments(output, existing)));
                 run.getArguments().addAll(
                     platform.getProject().getModId().map(modId -> new ArrayList<>(List.of("--mod", modId)))
                 );
             });
         }
 
+        if (shouldAttachSources(project))
+        {
+            // NeoGradle only accepts source set instances for the IDEA runs, those only exist once the owning project is evaluated.
+            // This is limited to IDEA syncs, regular builds do not depend on the evaluation order of the platform projects.
+            Stream.concat(commonProjects.stream(), allPluginProjects.stream()).forEach(project::evaluationDependsOn);
+        }
+
         runs.configureEach(run -> {
             run.modSource(sourceSets.getByName("main"));
 
@@ -240,18 +245,14 @@ public abstract class NeoForgePlatformProject extends AbstractPlatformProject
             if (shouldAttachSources(project))
             {
                 run.modSources(
-                    commonProjects.stream().map(p -> p.getExtensions().getByType(SourceSetContainer.class))
-                        .map(ss -> ss.getByName("main"))
-                        .toList()
-                );
-
-                run.modSources(
-                    allPluginProjects.stream().map(p -> p.getExtensions().getByType(SourceSetContainer.class))
-                        .map(ss -> ss.getByName("main"))
+                    Stream.concat(commonProjects.stream(), allPluginProjects.stream())
+                        .map(path -> project.project(path).getExtensions().getByType(SourceSetContainer.class))
+                        .map(ss -> ss.getByName(SourceSet.MAIN_SOURCE_SET_NAME))
                         .toList()
                 );
             }
         });
+        runsPhase.close();
 
         final TaskProvider<net.neoforged.gradle.common.tasks.@NotNull JarJar> jarJarTask =
             project.getTasks().named(JarJar.EXTENSION_NAME, net.neoforged.gradle.common.tasks.JarJar.class);
@@ -339,18 +340,42 @@ public abstract class NeoForgePlatformProject extends AbstractPlatformProject
     }
 
     @Override
-    protected void registerAdditionalDependencies(Project project, AbstractPlatformProject.Platform platform, Multimap<String, ExternalDependency> byNameDependencies)
+    protected Provider<List<DeclaredDependency>> getAdditionalDependencies(Project project, AbstractPlatformProject.Platform platform)
     {
-        super.registerAdditionalDependencies(project, platform, byNameDependencies);
-
         if (platform instanceof Platform neoforgePlatform)
         {
-            final Dependency neoforgeDependency =
-                project.getDependencies().create("%S:neoforge:%s".formatted(neoforgePlatform.getNeoForge().getGroup().get(), neoforgePlatform.getNeoForge().getVersion().get()));
-            if (neoforgeDependency instanceof ExternalDependency externalDependency)
-            {
-                byNameDependencies.put("neoforge", externalDependency);
+            return neoforgePlatform.getNeoForge().getGroup().zip(
+                neoforgePlatform.getNeoForge().getVersion(),
+                (group, version) -> List.of(new DeclaredDependency(group, "neoforge", version))
+            );
+        }
+
+        return super.getAdditionalDependencies(project, platform);
+    }
+
+    /**
+     * Creates the output and existing resource arguments of a data run relative to its working directory,
+     * so that the arguments do not change when the project is checked out in a different location.
+     */
+    private record DataRunArguments(File output, List<File> existing) implements Transformer<List<String>, Directory> {
+        @Override
+        public List<String> transform(@NotNull final Directory workingDirectory) {
+            final List<String> arguments = new ArrayList<>(List.of("--output", relativize(workingDirectory, output)));
+            existing.forEach(file -> {
+                arguments.add("--existing");
+                arguments.add(relativize(workingDirectory, file));
+            });
+            return arguments;
+        }
+
+        private static String relativize(final Directory workingDirectory, final File file) {
+            final Path base = workingDirectory.getAsFile().toPath().toAbsolutePath().normalize();
+            final Path target = file.toPath().toAbsolutePath().normalize();
+            if (!base.getRoot().equals(target.getRoot())) {
+                return target.toString();
             }
+
+            return base.relativize(target).toString().replace(File.separatorChar, '/');
         }
     }
 
@@ -0,0 +1,196 @@
+package com.communi.suggestu.placitum.core;
+
+import com.communi.suggestu.placitum.minecraft.MinecraftCacheLayout;
+import com.communi.suggestu.placitum.platform.ProjectModules;
+import com.communi.suggestu.placitum.tasks.PackageNeoFormRuntime;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import net.neoforged.gradle.dsl.common.extensions.AccessTransformers;
+import net.neoforged.gradle.dsl.common.extensions.Minecraft;
+import net.neoforged.gradle.dsl.common.extensions.subsystems.Subsystems;
+import net.neoforged.gradle.neoform.NeoFormPlugin;
+import org.gradle.api.GradleException;
+import org.gradle.api.Project;
+import org.gradle.api.Transformer;
+import org.gradle.api.artifacts.ArtifactCollection;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.Dependency;
+import org.gradle.api.artifacts.ModuleDependency;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.artifacts.dsl.DependencyFactory;
+import org.gradle.api.artifacts.result.DependencyResult;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.artifacts.result.ResolvedDependencyResult;
+import org.gradle.api.attributes.Attribute;
+import org.gradle.api.attributes.Bundling;
+import org.gradle.api.attributes.Category;
+import org.gradle.api.attributes.LibraryElements;
+import org.gradle.api.attributes.Usage;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.FileSystemLocation;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.TaskProvider;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sets up the NeoForm runtime of the core, common and plugin projects.
+ * <p>
+ * By default every one of these projects runs its own NeoForm runtime. In the shared mode only the core project does,
+ * and all other projects compile against the packaged runtime of the core project instead. The variant they request
+ * is keyed by their NeoForm version, Parchment mappings and access transformers, so a project which differs from the
+ * core project in any of those fails to resolve, instead of silently compiling against the wrong runtime. The variant
+ * only holds the Minecraft classes, the libraries of Minecraft are its dependencies, so they are resolved, and
+ * conflict resolved, like any other dependency of the consuming projects.
+ */
+public final class NeoFormRuntime {
+
+    public static final String RUNTIME_ELEMENTS_CONFIGURATION_NAME = "neoFormRuntimeElements";
+    public static final String RUNTIME_CONFIGURATION_NAME = "neoFormRuntime";
+    public static final String RUNTIME_CLASSPATH_CONFIGURATION_NAME = "neoFormRuntimeClasspath";
+    public static final String RUNTIME_LIBRARIES_CONFIGURATION_NAME = "neoFormRuntimeLibraries";
+    public static final String RUNTIME_MODULE = "neoform_joined";
+    private static final String RUNTIME_NOTATION = "net.minecraft:" + RUNTIME_MODULE + ":%s";
+    public static final String RUNTIME_CAPABILITY = "com.communi.suggestu.placitum:neoform-runtime";
+    public static final Attribute<String> RUNTIME_ATTRIBUTE = Attribute.of("com.communi.suggestu.placitum.neoform.runtime", String.class);
+
+    private NeoFormRuntime() {
+        throw new IllegalStateException("Can not instantiate an instance of: NeoFormRuntime. This is a utility class");
+    }
+
+    /**
+     * @return {@code true} when the project runs a NeoForm runtime, {@code false} when it consumes the one of the core project.
+     */
+    public static boolean configure(
+        final Project project,
+        final ProjectModules projectModules,
+        final AbstractPlatformProject.Platform platform,
+        final Provider<String> neoFormVersionRange,
+        final ConfigurableFileCollection accessTransformerFiles) {
+        final boolean shared = projectModules.build().sharedNeoFormRuntime();
+        final boolean owner = project.getPath().equals(projectModules.coreCodeProject());
+        final Provider<String> runtimeKey = createRuntimeKey(platform, neoFormVersionRange, accessTransformerFiles);
+
+        if (shared && !owner) {
+            final ModuleDependency runtime = (ModuleDependency) AbstractPlatformProject.createProjectDependency(project, projectModules.coreCodeProject());
+            runtime.capabilities(capabilities -> capabilities.requireCapability(RUNTIME_CAPABILITY));
+            runtime.attributes(attributes -> attributes.attributeProvider(RUNTIME_ATTRIBUTE, runtimeKey));
+            project.getConfigurations().getByName(JavaPlugin.COMPILE_ONLY_CONFIGURATION_NAME).getDependencies().add(runtime);
+            Repositories.declareMinecraftLibraryRepository(project.getRepositories());
+            return false;
+        }
+
+        AbstractPlatformProject.fillMinecraftCache(project, platform, MinecraftCacheLayout.Toolchain.NEO_GRADLE);
+        project.getPlugins().apply(NeoFormPlugin.class);
+
+        project.getDependencies().addProvider(JavaPlugin.IMPLEMENTATION_CONFIGURATION_NAME, neoFormVersionRange
+            .map(RUNTIME_NOTATION::formatted));
+
+        final Subsystems subsystems = project.getExtensions().getByType(Subsystems.class);
+        subsystems.parchment(parchment -> {
+            parchment.getMinecraftVersion().set(platform.getParchment().getMinecraftVersion());
+            parchment.getMappingsVersion().set(platform.getParchment().getVersion());
+        });
+
+        final AccessTransformers accessTransformers = project.getExtensions().getByType(Minecraft.class).getAccessTransformers();
+        accessTransformers.getFiles().from(accessTransformerFiles);
+
+        if (shared) {
+            registerRuntimeElements(project, neoFormVersionRange, runtimeKey);
+        }
+        return true;
+    }
+
+    /**
+     * The runtime is packaged from a classpath that only contains the runtime itself. Packaging it from the compile
+     * classpath would make it depend on every project the core project depends on, which in turn consume the runtime.
+     * The libraries the runtime depends on in that classpath become the dependencies of the runtime variant.
+     */
+    private static void registerRuntimeElements(final Project project, final Provider<String> neoFormVersionRange, final Provider<String> runtimeKey) {
+        final Configuration compileClasspath = project.getConfigurations().getByName(JavaPlugin.COMPILE_CLASSPATH_CONFIGURATION_NAME);
+        final Configuration runtime = project.getConfigurations().dependencyScope(RUNTIME_CONFIGURATION_NAME).get();
+        project.getDependencies().addProvider(RUNTIME_CONFIGURATION_NAME, neoFormVersionRange.map(RUNTIME_NOTATION::formatted));
+        final Configuration runtimeClasspath = project.getConfigurations().resolvable(RUNTIME_CLASSPATH_CONFIGURATION_NAME, config -> {
+            config.extendsFrom(runtime);
+            config.getAttributes().addAllLater(compileClasspath.getAttributes());
+        }).get();
+        final ArtifactCollection artifacts = runtimeClasspath.getIncoming().getArtifacts();
+
+        final TaskProvider<PackageNeoFormRuntime> packageRuntime = project.getTasks().register("packageNeoFormRuntime", PackageNeoFormRuntime.class, task -> {
+            task.getRootComponent().set(runtimeClasspath.getIncoming().getResolutionResult().getRootComponent());
+            task.getArtifacts().set(artifacts.getResolvedArtifacts());
+            task.getArtifactFiles().from(artifacts.getArtifactFiles());
+            task.getRuntimeModule().set(RUNTIME_MODULE);
+            task.getOutputFile().set(project.getLayout().getBuildDirectory().file("placitum/neoform/runtime.jar"));
+        });
+
+        final Configuration libraries = project.getConfigurations().dependencyScope(RUNTIME_LIBRARIES_CONFIGURATION_NAME).get();
+        libraries.getDependencies().addAllLater(runtimeClasspath.getIncoming().getResolutionResult().getRootComponent()
+            .map(new CollectRuntimeLibraries(project.getDependencyFactory())));
+
+        project.getConfigurations().consumable(RUNTIME_ELEMENTS_CONFIGURATION_NAME, config -> {
+            config.extendsFrom(libraries);
+            config.getAttributes().attribute(Usage.USAGE_ATTRIBUTE, project.getObjects().named(Usage.class, Usage.JAVA_API));
+            config.getAttributes().attribute(Category.CATEGORY_ATTRIBUTE, project.getObjects().named(Category.class, Category.LIBRARY));
+            config.getAttributes().attribute(LibraryElements.LIBRARY_ELEMENTS_ATTRIBUTE, project.getObjects().named(LibraryElements.class, LibraryElements.JAR));
+            config.getAttributes().attribute(Bundling.BUNDLING_ATTRIBUTE, project.getObjects().named(Bundling.class, Bundling.EMBEDDED));
+            config.getAttributes().attributeProvider(RUNTIME_ATTRIBUTE, runtimeKey);
+            config.getOutgoing().capability(RUNTIME_CAPABILITY + ":" + project.getVersion());
+            config.getOutgoing().artifact(packageRuntime.flatMap(PackageNeoFormRuntime::getOutputFile));
+        });
+    }
+
+    /**
+     * Collects the libraries the NeoForm runtime directly depends on, in the versions they resolved to. Their own
+     * dependencies follow from their metadata.
+     */
+    private record CollectRuntimeLibraries(DependencyFactory dependencies) implements Transformer<List<Dependency>, ResolvedComponentResult> {
+        @Override
+        public List<Dependency> transform(final ResolvedComponentResult root) {
+            final List<Dependency> libraries = new ArrayList<>();
+            for (final DependencyResult dependency : PackageNeoFormRuntime.findRuntime(root, RUNTIME_MODULE).getDependencies()) {
+                if (dependency instanceof ResolvedDependencyResult resolved
+                    && resolved.getSelected().getId() instanceof ModuleComponentIdentifier module) {
+                    libraries.add(dependencies.create(module.getGroup(), module.getModule(), module.getVersion()));
+                }
+            }
+            return libraries;
+        }
+    }
+
+    private static Provider<String> createRuntimeKey(final AbstractPlatformProject.Platform platform, final Provider<String> neoFormVersionRange, final ConfigurableFileCollection accessTransformerFiles) {
+        return neoFormVersionRange
+            .zip(platform.getParchment().getMinecraftVersion(), "neoform-%s/parchment-%s"::formatted)
+            .zip(platform.getParchment().getVersion(), "%s:%s"::formatted)
+            .zip(accessTransformerFiles.getElements().map(new HashAccessTransformers()), "%s/at-%s"::formatted);
+    }
+
+    /**
+     * Hashes the contents of the access transformers, independent of where they are located.
+     */
+    private record HashAccessTransformers() implements Transformer<String, Set<FileSystemLocation>> {
+        @Override
+        public String transform(final Set<FileSystemLocation> locations) {
+            final Hasher hasher = Hashing.murmur3_128().newHasher();
+            locations.stream()
+                .map(FileSystemLocation::getAsFile)
+                .filter(File::isFile)
+                .sorted(Comparator.comparing(File::getName))
+                .forEach(file -> {
+                    try {
+                        hasher.putBytes(Files.readAllBytes(file.toPath()));
+                    } catch (IOException e) {
+                        throw new GradleException("Failed to read access transformer: " + file, e);
+                    }
+                });
+            return hasher.hash().toString();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.communi.suggestu.placitum.core;
+
+import org.gradle.api.artifacts.dsl.RepositoryHandler;
+import org.gradle.api.artifacts.repositories.RepositoryContentDescriptor;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Declares the repositories Placitum adds, each restricted to the groups it serves.
+ * <p>
+ * Without content filters every module is looked up in every repository in turn, which turns each cold resolution
+ * into a series of failed lookups. The loader and LDT Team repositories only serve the groups they host, and the
+ * Gradle Plugin Portal and Maven Central are never asked for those groups. Maven local is only declared when groups to
+ * resolve from it are configured, and only serves those groups. It is declared first, so that a locally installed
+ * toolchain still wins over the loader repositories.
+ */
+public final class Repositories {
+
+    public static final String NEOFORGED_URL = "https://maven.neoforged.net/releases";
+    public static final String FABRICMC_URL = "https://maven.fabricmc.net/";
+    public static final String LDTTEAM_URL = "https://ldtteam.jfrog.io/ldtteam/modding";
+    public static final String MINECRAFT_LIBRARIES_URL = "https://libraries.minecraft.net/";
+
+    public static final List<String> NEOFORGED_GROUPS = List.of("net.neoforged");
+    public static final List<String> FABRICMC_GROUPS = List.of("net.fabricmc", "fabric-loom");
+    public static final List<String> LDTTEAM_GROUPS = List.of("com.ldtteam", "com.communi.suggestu", "org.parchmentmc");
+
+    /**
+     * The groups which are served by the loader toolchains and their own repositories, never by Maven Central.
+     */
+    public static final List<String> MINECRAFT_GROUPS = List.of("net.minecraft", "com.mojang");
+
+    private Repositories() {
+        throw new IllegalStateException("Can not instantiate an instance of: Repositories. This is a utility class");
+    }
+
+    /**
+     * Declares the repositories the loader plugins are resolved from.
+     *
+     * @param repositories     The plugin management repositories.
+     * @param mavenLocalGroups The groups to resolve from maven local, when empty maven local is not declared.
+     */
+    public static void declarePluginRepositories(final RepositoryHandler repositories, final Set<String> mavenLocalGroups) {
+        declareMavenLocal(repositories, mavenLocalGroups);
+        repositories.maven(mavenConfig -> {
+            mavenConfig.setUrl(NEOFORGED_URL);
+            mavenConfig.setName("NeoForged");
+            mavenConfig.content(content -> includeGroups(content, NEOFORGED_GROUPS));
+        });
+        repositories.maven(mavenConfig -> {
+            mavenConfig.setUrl(FABRICMC_URL);
+            mavenConfig.setName("FabricMC");
+            mavenConfig.content(content -> includeGroups(content, FABRICMC_GROUPS));
+        });
+        repositories.gradlePluginPortal(portalConfig -> portalConfig.content(Repositories::excludeForeignGroups));
+        repositories.mavenCentral(mavenConfig -> mavenConfig.content(Repositories::excludeForeignGroups));
+    }
+
+    /**
+     * Declares the repositories every platform project resolves its dependencies from.
+     * The loader toolchains add the repositories of their own groups.
+     *
+     * @param repositories     The project repositories.
+     * @param mavenLocalGroups The groups to resolve from maven local, when empty maven local is not declared.
+     */
+    public static void declareProjectRepositories(final RepositoryHandler repositories, final Set<String> mavenLocalGroups) {
+        declareMavenLocal(repositories, mavenLocalGroups);
+        repositories.maven(mavenConfig -> {
+            mavenConfig.setUrl(LDTTEAM_URL);
+            mavenConfig.setName("LDT Team Maven");
+            mavenConfig.content(content -> includeGroups(content, LDTTEAM_GROUPS));
+        });
+        repositories.mavenCentral(mavenConfig -> mavenConfig.content(Repositories::excludeForeignGroups));
+    }
+
+    /**
+     * Declares the repository of the Mojang libraries Minecraft depends on, for projects which compile against
+     * Minecraft without applying a loader toolchain, which would otherwise declare it.
+     *
+     * @param repositories The project repositories.
+     */
+    public static void declareMinecraftLibraryRepository(final RepositoryHandler repositories) {
+        repositories.maven(mavenConfig -> {
+            mavenConfig.setUrl(MINECRAFT_LIBRARIES_URL);
+            mavenConfig.setName("Minecraft Libraries");
+            mavenConfig.content(content -> content.includeGroupAndSubgroups("com.mojang"));
+        });
+    }
+
+    private static void declareMavenLocal(final RepositoryHandler repositories, final Set<String> groups) {
+        if (groups.isEmpty()) {
+            return;
+        }
+
+        repositories.mavenLocal(mavenConfig -> mavenConfig.content(content -> includeGroups(content, groups)));
+    }
+
+    private static void includeGroups(final RepositoryContentDescriptor content, final Iterable<String> groups) {
+        groups.forEach(content::includeGroupAndSubgroups);
+    }
+
+    private static void excludeForeignGroups(final RepositoryContentDescriptor content) {
+        NEOFORGED_GROUPS.forEach(content::excludeGroupAndSubgroups);
+        FABRICMC_GROUPS.forEach(content::excludeGroupAndSubgroups);
+        MINECRAFT_GROUPS.forEach(content::excludeGroupAndSubgroups);
+        content.excludeGroupAndSubgroups("org.parchmentmc");
+    }
+}
@@ -1,7 +1,10 @@
 package com.communi.suggestu.placitum.core.fabric;
 
 import com.communi.suggestu.placitum.core.AbstractPlatformProject;
+import com.communi.suggestu.placitum.minecraft.MinecraftCacheLayout;
 import com.communi.suggestu.placitum.platform.ProjectModules;
+import com.communi.suggestu.placitum.profiling.ConfigurationProfiler;
+import com.communi.suggestu.placitum.tasks.ModifyIdeaRunConfigurations;
 import com.google.common.collect.Sets;
 import net.fabricmc.loom.api.LoomGradleExtensionAPI;
 import org.apache.commons.lang3.StringUtils;
@@ -9,83 +12,79 @@ import org.gradle.api.Action;
 import org.gradle.api.GradleException;
 import org.gradle.api.InvalidUserDataException;
 import org.gradle.api.Project;
-import org.gradle.api.Task;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.Dependency;
 import org.gradle.api.artifacts.ModuleDependency;
-import org.gradle.api.artifacts.result.ResolvedArtifactResult;
-import org.gradle.api.file.ArchiveOperations;
-import org.gradle.api.file.FileTree;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.component.ProjectComponentIdentifier;
+import org.gradle.api.artifacts.type.ArtifactTypeDefinition;
+import org.gradle.api.attributes.Category;
+import org.gradle.api.attributes.LibraryElements;
+import org.gradle.api.attributes.Usage;
+import org.gradle.api.file.FileCollection;
 import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.plugins.JavaPlugin;
 import org.gradle.api.provider.Property;
 import org.gradle.api.provider.Provider;
+import org.gradle.api.specs.Spec;
 import org.gradle.api.tasks.Copy;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputFile;
 import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.PathSensitive;
 import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.SourceSet;
 import org.gradle.api.tasks.SourceSetContainer;
 import org.gradle.api.tasks.TaskProvider;
-import org.gradle.api.tasks.bundling.Jar;
 import org.gradle.language.jvm.tasks.ProcessResources;
 import org.jetbrains.annotations.NotNull;
 
 import javax.inject.Inject;
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 public abstract class AbstractFabricPlatformProject extends AbstractPlatformProject
 {
 
+    private static final String BUNDLED_PROJECTS_CONFIGURATION_NAME = "bundledProjects";
+
     @Inject
     public AbstractFabricPlatformProject() {
         super();
     }
 
-    @Inject
-    public abstract ArchiveOperations getArchiveOperations();
-
     @Override
     public void configure(Project project, final ProjectModules projectModules, AbstractPlatformProject.Platform defaults) {
         super.configure(project, projectModules, defaults);
 
-        applyLoomPlugin(project);
+        fillMinecraftCache(project, project.getExtensions().getByType(Platform.class), MinecraftCacheLayout.Toolchain.LOOM);
 
-        final Set<Project> commonProjects = projectModules.commonProjects().stream()
-                .map(project::project)
-                .collect(Collectors.toSet());
-        commonProjects.add(project.project(projectModules.coreCodeProject()));
+        final ConfigurationProfiler.Phase loomPhase = ConfigurationProfiler.start(project, "loom-plugin");
+        applyLoomPlugin(project);
+        loomPhase.close();
 
-        final Set<Project> allPluginProjects =
-            projectModules.pluginProjects().stream()
-                .map(project::project)
-                .collect(Collectors.toSet());
+        final Set<String> commonProjects = Sets.newHashSet(projectModules.commonProjects());
+        commonProjects.add(projectModules.coreCodeProject());
 
-        final Set<Project> includedPluginProjects = Sets.newHashSet(allPluginProjects);
+        final Set<String> includedPluginProjects = Sets.newHashSet(projectModules.pluginProjects());
 
-        allPluginProjects.addAll(
-            projectModules.devPluginProjects().stream()
-                .map(project::project)
-                .collect(Collectors.toSet())
-        );
+        final Set<String> allPluginProjects = Sets.newHashSet(includedPluginProjects);
+        allPluginProjects.addAll(projectModules.devPluginProjects());
 
         final Platform platform = project.getExtensions().getByType(Platform.class);
 
-        for (Project commonProject : commonProjects) {
-            processCommonLikeProject(project, commonProject, true, true);
+        final ConfigurationProfiler.Phase bundlingPhase = ConfigurationProfiler.start(project, "bundled-projects");
+        final Configuration bundledProjects = createBundledProjectsConfiguration(project);
+
+        for (String commonProject : commonProjects) {
+            processCommonLikeProject(project, bundledProjects, commonProject, true, true);
         }
 
-        for (Project pluginProject : allPluginProjects) {
-            processCommonLikeProject(project, pluginProject, false, includedPluginProjects.contains(pluginProject));
+        for (String pluginProject : allPluginProjects) {
+            processCommonLikeProject(project, bundledProjects, pluginProject, false, includedPluginProjects.contains(pluginProject));
         }
+        bundlingPhase.close();
 
         setupMinecraftAndFabricDependencies(project, platform);
 
@@ -107,6 +106,7 @@ public abstract class AbstractFabricPlatformProject extends AbstractPlatformProj
 
         enableProjectDependenciesNesting(project);
 
+        final ConfigurationProfiler.Phase modsAndRunsPhase = ConfigurationProfiler.start(project, "loom-mods-and-runs");
         loom.getRuns().named("client", client -> {
             client.client();
             client.setConfigName("Fabric Client");
@@ -121,23 +121,18 @@ public abstract class AbstractFabricPlatformProject extends AbstractPlatformProj
         });
 
         final SourceSetContainer sourceSets = project.getExtensions().getByType(SourceSetContainer.class);
-        loom.getMods().register(project.getRootProject().getName(), mod -> {
-            commonProjects.forEach(p -> {
-                final SourceSetContainer projectSourceSets = p.getExtensions().getByType(SourceSetContainer.class);
-                mod.sourceSet(projectSourceSets.getByName("main"), p);
-            });
-            allPluginProjects.forEach(p -> {
-                final SourceSetContainer projectSourceSets = p.getExtensions().getByType(SourceSetContainer.class);
-                mod.sourceSet(projectSourceSets.getByName("main"), p);
-            });
-            mod.sourceSet(sourceSets.getByName("main"), project);
+        loom.getMods().register(getRootProjectName(project), mod -> {
+            commonProjects.forEach(path -> mod.sourceSet(SourceSet.MAIN_SOURCE_SET_NAME, path));
+            allPluginProjects.forEach(path -> mod.sourceSet(SourceSet.MAIN_SOURCE_SET_NAME, path));
+            mod.sourceSet(sourceSets.getByName(SourceSet.MAIN_SOURCE_SET_NAME), project);
         });
+        modsAndRunsPhase.close();
 
         if (isRunningWithIdea(project)) {
             //We are in a special mode that requires us to redirect the process resources tasks to the idea out directory.
             //We only care for our own output for now, dependency projects will need to be handled separately.
             var copyIdeaResources = project.getTasks().register("copyIdeaResources", Copy.class, copy -> {
-                copy.from(project.getTasks().named("processResources", ProcessResources.class).map(ProcessResources::getDestinationDir));
+                copy.from(project.getTasks().named("processResources", ProcessResources.class));
                 copy.into(project.file("out/production/resources"));
             });
 
@@ -145,36 +140,9 @@ public abstract class AbstractFabricPlatformProject extends AbstractPlatformProj
         }
 
         final String relativeProjectDirectory = project.getRootDir().toPath().relativize(project.getProjectDir().toPath()).toString();
-        final TaskProvider<@NotNull Task> ideaSyncRegistrar = project.getTasks().register("ideaSyncRunModifier", task -> {
-            task.doLast(t -> {
-                final File runConfigurationsDir = new File(project.getRootDir(), ".idea/runConfigurations");
-                for (File file : Objects.requireNonNull(runConfigurationsDir.listFiles())) {
-                    if (!file.getName().endsWith(".xml")) {
-                        continue;
-                    }
-
-                    try {
-                        final String content = Files.readString(file.toPath());
-                        final String targetContent = "<option name=\"Gradle.BeforeRunTask\" enabled=\"true\" tasks=\"processResources\" externalProjectPath=\"$PROJECT_DIR$/%s\" vmOptions=\"\" scriptParameters=\"-PrunsWithIdea=true\" />".formatted(relativeProjectDirectory);
-                        final String alternativeTarget = "<option enabled=\"true\" externalProjectPath=\"$PROJECT_DIR$/%s\" name=\"Gradle.BeforeRunTask\" scriptParameters=\"-PrunsWithIdea=true\" tasks=\"processResources\" vmOptions=\"\"/>".formatted(relativeProjectDirectory);
-                        final String beforeMarker = "</method>";
-
-                        if (content.contains(targetContent) || content.contains(alternativeTarget)) {
-                            continue;
-                        }
-
-                        final String[] contentParts = content.split(beforeMarker);
-                        if (contentParts.length != 2) {
-                            continue;
-                        }
-
-                        final String newContent = "%s%s%s%s".formatted(contentParts[0], targetContent, beforeMarker, contentParts[1]);
-                        Files.writeString(file.toPath(), newContent);
-                    } catch (IOException e) {
-                        throw new GradleException("Failed to read or write file: %s".formatted(file), e);
-                    }
-                }
-            });
+        final TaskProvider<@NotNull ModifyIdeaRunConfigurations> ideaSyncRegistrar = project.getTasks().register("ideaSyncRunModifier", ModifyIdeaRunConfigurations.class, task -> {
+            task.getRunConfigurationsDirectory().set(getRootProjectDirectory(project).dir(".idea/runConfigurations"));
+            task.getRelativeProjectDirectory().set(relativeProjectDirectory);
         });
 
         project.getTasks().named("ideaSyncTask", idea -> {
@@ -217,9 +185,33 @@ public abstract class AbstractFabricPlatformProject extends AbstractPlatformProj
 
     protected abstract void setupMinecraftAndFabricDependencies(final Project project, final Platform platform);
 
-    protected final void processCommonLikeProject(final Project project, final Project commonProject, final boolean allowTransitive, final boolean includeInJar)
+    /**
+     * Registers the transform which bundles the jars of Placitum projects into fabric mods, and creates the configuration
+     * through which the projects that are bundled into this project are consumed.
+     *
+     * @param project The fabric project.
+     * @return The configuration containing the projects that should be bundled.
+     */
+    private Configuration createBundledProjectsConfiguration(final Project project)
     {
-        final Dependency commonProjectDependency = project.getDependencies().create(commonProject);
+        project.getDependencies().registerTransform(BundleFabricModTransform.class, spec -> {
+            spec.getFrom().attribute(ArtifactTypeDefinition.ARTIFACT_TYPE_ATTRIBUTE, ArtifactTypeDefinition.JAR_TYPE);
+            spec.getTo().attribute(ArtifactTypeDefinition.ARTIFACT_TYPE_ATTRIBUTE, BundleFabricModTransform.FMJ_BUNDLED_JAR_TYPE);
+            spec.parameters(parameters -> parameters.getModGroup().set(project.getGroup().toString()));
+        });
+
+        return project.getConfigurations().create(BUNDLED_PROJECTS_CONFIGURATION_NAME, config -> {
+            config.setTransitive(false);
+            config.setCanBeConsumed(false);
+            config.getAttributes().attribute(Usage.USAGE_ATTRIBUTE, project.getObjects().named(Usage.class, Usage.JAVA_RUNTIME));
+            config.getAttributes().attribute(Category.CATEGORY_ATTRIBUTE, project.getObjects().named(Category.class, Category.LIBRARY));
+            config.getAttributes().attribute(LibraryElements.LIBRARY_ELEMENTS_ATTRIBUTE, project.getObjects().named(LibraryElements.class, LibraryElements.JAR));
+        });
+    }
+
+    protected final void processCommonLikeProject(final Project project, final Configuration bundledProjects, final String commonProject, final boolean allowTransitive, final boolean includeInJar)
+    {
+        final Dependency commonProjectDependency = createProjectDependency(project, commonProject);
         excludeMinecraftDependencies(commonProjectDependency);
         if (!allowTransitive && commonProjectDependency instanceof ModuleDependency moduleDependency) {
             moduleDependency.setTransitive(false);
@@ -228,70 +220,33 @@ public abstract class AbstractFabricPlatformProject extends AbstractPlatformProj
         final Configuration apiConfiguration = project.getConfigurations().getByName(JavaPlugin.API_CONFIGURATION_NAME);
         apiConfiguration.getDependencies().add(commonProjectDependency);
 
-        final String commonProjectName = commonProject.getName();
-        final String commonProjectGroup = commonProject.getGroup().toString();
-        final String rootProjectName = commonProject.getRootProject().getName();
-        final String commonProjectVersion = commonProject.getVersion().toString();
-
-        Provider<@NotNull File> metadataGenerationFile = project.getLayout().getBuildDirectory()
-                .dir("generated/fabric/metadata/placitum/projects/core/%s".formatted(commonProjectName))
-                .map(dir -> dir.file("fabric.mod.json"))
-                .map(file -> {
-                    final File targetFile = file.getAsFile();
-                    final File directory = targetFile.getParentFile();
-                    if (!directory.exists() && !directory.mkdirs()) {
-                        throw new GradleException("Failed to create directory: %s".formatted(directory));
-                    }
-
-                    try {
-                        Files.writeString(targetFile.toPath(), """
-                                {
-                                  "schemaVersion": 1,
-                                  "id": "%s",
-                                  "version": "%s",
-                                  "name": "%s",
-                                  "custom": {
-                                    "fabric-loom:generated": true
-                                  }
-                                }
-                                """.formatted(
-                                "%s_%s".formatted(commonProjectGroup.replace(".", "_"), commonProjectName),
-                                commonProjectVersion,
-                                "%s - %s".formatted(rootProjectName, commonProjectName)
-                        ));
-                    } catch (IOException e) {
-                        throw new GradleException("Failed to write metadata file: %s".formatted(targetFile), e);
-                    }
-
-                    return targetFile;
-                });
-
-        final Configuration consumesCommonProject = project.getConfigurations()
-            .create("consumes" + StringUtils.capitalize(commonProjectName));
-        consumesCommonProject.getDependencies().add(
-            project.getDependencies().create(commonProject)
-        );
-
         if (!includeInJar) {
             return;
         }
 
-        final Provider<@NotNull FileTree> compiledJarTree =
-            consumesCommonProject.getIncoming().getArtifacts()
-                .getResolvedArtifacts()
-                .map(resolvedArtifactResults -> resolvedArtifactResults.iterator().next())
-                .map(ResolvedArtifactResult::getFile)
-                .map(getArchiveOperations()::zipTree);
-        final TaskProvider<@NotNull Jar> bundleFmjTask = project.getTasks().register("bundleFmj%s".formatted(commonProject.getName()), Jar.class, task -> {
-            task.from(compiledJarTree);
-            task.from(metadataGenerationFile);
-            task.getArchiveClassifier().set("%s-bundled".formatted(commonProjectName));
-        });
+        bundledProjects.getDependencies().add(createProjectDependency(project, commonProject));
+
+        final FileCollection bundledJar = bundledProjects.getIncoming().artifactView(view -> {
+            view.attributes(attributes -> attributes.attribute(ArtifactTypeDefinition.ARTIFACT_TYPE_ATTRIBUTE, BundleFabricModTransform.FMJ_BUNDLED_JAR_TYPE));
+            view.componentFilter(new IsProject(commonProject));
+        }).getFiles();
+
+        includeAndExposeCommonProject(project, commonProject, bundledJar, getProjectName(commonProject));
+    }
 
-        includeAndExposeCommonProject(project, commonProject, bundleFmjTask, commonProjectName);
+    /**
+     * Selects the component of a single project.
+     */
+    private record IsProject(String path) implements Spec<ComponentIdentifier>
+    {
+        @Override
+        public boolean isSatisfiedBy(final ComponentIdentifier identifier)
+        {
+            return identifier instanceof ProjectComponentIdentifier projectIdentifier && projectIdentifier.getProjectPath().equals(path);
+        }
     }
 
-    protected abstract void includeAndExposeCommonProject(final Project project, final Project commonProject, final TaskProvider<Jar> bundleFmjTask, final String commonProjectName);
+    protected abstract void includeAndExposeCommonProject(final Project project, final String commonProject, final FileCollection bundledJar, final String commonProjectName);
 
     @Override
     protected Platform registerPlatformExtension(Project project, AbstractPlatformProject.Platform defaults) {
@@ -348,7 +303,7 @@ public abstract class AbstractFabricPlatformProject extends AbstractPlatformProj
                 getLoaderVersion().convention(project.getProviders().gradleProperty("fabric.loader.version").map(String::trim));
                 getApiVersion().convention(project.getProviders().gradleProperty("fabric.api.version").map(String::trim));
                 getFabricApiMinecraftVersion().convention(project.getProviders().gradleProperty("fabric.api.minecraft.version").map(String::trim).orElse(platform.getMinecraft().getVersion()));
-                getAccessWideners().convention(project.getRootProject().getLayout().getProjectDirectory().dir("common").file("%s.accesswidener".formatted(project.getRootProject().getName().toLowerCase(Locale.ROOT))));
+                getAccessWideners().convention(getRootProjectDirectory(project).dir("common").file("%s.accesswidener".formatted(getRootProjectName(project).toLowerCase(Locale.ROOT))));
             }
 
             @Input
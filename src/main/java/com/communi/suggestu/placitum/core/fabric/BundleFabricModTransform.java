@@ -0,0 +1,120 @@
+package com.communi.suggestu.placitum.core.fabric;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.gradle.api.GradleException;
+import org.gradle.api.artifacts.transform.CacheableTransform;
+import org.gradle.api.artifacts.transform.InputArtifact;
+import org.gradle.api.artifacts.transform.TransformAction;
+import org.gradle.api.artifacts.transform.TransformOutputs;
+import org.gradle.api.artifacts.transform.TransformParameters;
+import org.gradle.api.file.FileSystemLocation;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.GregorianCalendar;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+/**
+ * Bundles the jar of a Placitum project into a fabric mod, by adding a generated {@code fabric.mod.json} to it.
+ * <p>
+ * The metadata is derived from the manifest Placitum writes into every project jar. The entries of the input jar are
+ * transferred in their compressed form, so bundling does not need to decompress and recompress the jar contents.
+ * Jars without Placitum metadata are passed through as they are.
+ */
+@CacheableTransform
+public abstract class BundleFabricModTransform implements TransformAction<BundleFabricModTransform.Parameters> {
+
+    /**
+     * The artifact type of jars which have been bundled into a fabric mod.
+     */
+    public static final String FMJ_BUNDLED_JAR_TYPE = "fmj-bundled-jar";
+
+    /**
+     * The timestamp used for entries that are added to the bundled jar, the same timestamp Gradle uses for reproducible archives.
+     */
+    private static final long CONSTANT_TIME_FOR_ZIP_ENTRIES = new GregorianCalendar(1980, GregorianCalendar.FEBRUARY, 1, 0, 0, 0).getTimeInMillis();
+
+    public interface Parameters extends TransformParameters {
+
+        /**
+         * @return The group of the bundled projects, used to build the mod id.
+         */
+        @Input
+        Property<String> getModGroup();
+    }
+
+    @InputArtifact
+    @PathSensitive(PathSensitivity.NAME_ONLY)
+    public abstract Provider<FileSystemLocation> getInputArtifact();
+
+    @Override
+    public void transform(@NotNull TransformOutputs outputs) {
+        final File inputJar = getInputArtifact().get().getAsFile();
+
+        try (ZipFile input = ZipFile.builder().setFile(inputJar).get()) {
+            final Attributes attributes = readManifestAttributes(input);
+            final String projectName = attributes == null ? null : attributes.getValue(Attributes.Name.IMPLEMENTATION_TITLE);
+            final String version = attributes == null ? null : attributes.getValue(Attributes.Name.IMPLEMENTATION_VERSION);
+            final String rootProjectName = attributes == null ? null : attributes.getValue(Attributes.Name.SPECIFICATION_TITLE);
+            if (projectName == null || version == null || rootProjectName == null) {
+                outputs.file(getInputArtifact());
+                return;
+            }
+
+            final FabricModMetadata metadata = new FabricModMetadata(
+                    "%s_%s".formatted(getParameters().getModGroup().get().replace(".", "_"), projectName),
+                    version,
+                    "%s - %s".formatted(rootProjectName, projectName)
+            );
+
+            final String baseName = inputJar.getName().substring(0, inputJar.getName().length() - ".jar".length());
+            final File outputJar = outputs.file("%s-%s-bundled.jar".formatted(baseName, projectName));
+
+            try (ZipArchiveOutputStream output = new ZipArchiveOutputStream(outputJar)) {
+                final Enumeration<ZipArchiveEntry> entries = input.getEntriesInPhysicalOrder();
+                while (entries.hasMoreElements()) {
+                    final ZipArchiveEntry entry = entries.nextElement();
+                    if (entry.getName().equals(FabricModMetadata.FILE_NAME)) {
+                        continue;
+                    }
+
+                    output.addRawArchiveEntry(entry, input.getRawInputStream(entry));
+                }
+
+                final ZipArchiveEntry metadataEntry = new ZipArchiveEntry(FabricModMetadata.FILE_NAME);
+                metadataEntry.setTime(CONSTANT_TIME_FOR_ZIP_ENTRIES);
+                metadataEntry.setMethod(ZipArchiveEntry.DEFLATED);
+                output.putArchiveEntry(metadataEntry);
+                output.write(metadata.toJson().getBytes(StandardCharsets.UTF_8));
+                output.closeArchiveEntry();
+            }
+        } catch (IOException e) {
+            throw new GradleException("Failed to bundle jar: %s".formatted(inputJar), e);
+        }
+    }
+
+    private static @Nullable Attributes readManifestAttributes(final ZipFile input) throws IOException {
+        final ZipArchiveEntry manifestEntry = input.getEntry(JarFile.MANIFEST_NAME);
+        if (manifestEntry == null) {
+            return null;
+        }
+
+        try (InputStream stream = input.getInputStream(manifestEntry)) {
+            return new Manifest(stream).getMainAttributes();
+        }
+    }
+}
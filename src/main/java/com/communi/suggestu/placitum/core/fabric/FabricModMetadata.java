@@ -0,0 +1,58 @@
+package com.communi.suggestu.placitum.core.fabric;
+
+/**
+ * The metadata of a generated {@code fabric.mod.json}, as used for projects that are bundled into a fabric mod as nested jar.
+ *
+ * @param id      The mod id.
+ * @param version The version of the mod.
+ * @param name    The display name of the mod.
+ */
+public record FabricModMetadata(String id, String version, String name) {
+
+    public static final String FILE_NAME = "fabric.mod.json";
+
+    /**
+     * Renders the metadata as {@code fabric.mod.json} content.
+     *
+     * @return The json representation of the metadata.
+     */
+    public String toJson() {
+        return """
+                {
+                  "schemaVersion": 1,
+                  "id": "%s",
+                  "version": "%s",
+                  "name": "%s",
+                  "custom": {
+                    "fabric-loom:generated": true
+                  }
+                }
+                """.formatted(
+                escape(id),
+                escape(version),
+                escape(name)
+        );
+    }
+
+    private static String escape(final String value) {
+        final StringBuilder builder = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        builder.append("\\u%04x".formatted((int) c));
+                    } else {
+                        builder.append(c);
+                    }
+                }
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -10,7 +10,7 @@ import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.ConsumableConfiguration;
 import org.gradle.api.attributes.Attribute;
 import org.gradle.api.component.AdhocComponentWithVariants;
-import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.FileCollection;
 import org.gradle.api.plugins.JavaPlugin;
 import org.gradle.api.tasks.TaskProvider;
 import org.gradle.api.tasks.bundling.Jar;
@@ -61,15 +61,12 @@ public abstract class NoneRemappingFabricPlatformProject extends AbstractFabricP
     }
 
     @Override
-    protected void includeAndExposeCommonProject(final Project project, final Project commonProject, final TaskProvider<Jar> bundleFmjTask, final String commonProjectName)
+    protected void includeAndExposeCommonProject(final Project project, final String commonProject, final FileCollection bundledJar, final String commonProjectName)
     {
-        final ConfigurableFileCollection collection = project.files(bundleFmjTask.flatMap(Jar::getArchiveFile));
-        collection.builtBy(bundleFmjTask);
-
         final TaskProvider<Jar> jarTask = project.getTasks().named("jar", Jar.class);
         jarTask.configure(task -> {
-            NestJarsAction.addToTask(task, collection);
-            task.dependsOn(bundleFmjTask);
+            NestJarsAction.addToTask(task, bundledJar);
+            task.dependsOn(bundledJar);
         });
     }
 
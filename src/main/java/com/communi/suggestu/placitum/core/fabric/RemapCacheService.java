@@ -0,0 +1,233 @@
+package com.communi.suggestu.placitum.core.fabric;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Property;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * A content addressed cache of remapped jars, shared between all fabric projects of a build and persisted between builds.
+ * <p>
+ * Entries are keyed by the hash of the input jar, the mappings files, the remapper and the classpath it is remapped
+ * against, so a jar is only remapped once for every set of mappings, regardless of how many projects consume it.
+ * Every consumer copies the remapped jar out of the cache with {@link RestoreRemappedJar}.
+ * <p>
+ * Entries which have not been used for {@link Parameters#getMaximumAge()}, and the least recently used entries beyond
+ * {@link Parameters#getMaximumSize()}, are removed at the end of the build.
+ */
+public abstract class RemapCacheService implements BuildService<RemapCacheService.Parameters>, AutoCloseable {
+
+    public static final String NAME = "placitumRemapCache";
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 2L * 1024 * 1024 * 1024;
+    public static final Duration DEFAULT_MAXIMUM_AGE = Duration.ofDays(30);
+
+    private static final Logger LOGGER = Logging.getLogger(RemapCacheService.class);
+
+    private final Map<String, byte[]> fileHashes = new ConcurrentHashMap<>();
+    private volatile boolean modified = false;
+
+    public interface Parameters extends BuildServiceParameters {
+
+        /**
+         * @return The directory in which the remapped jars are stored.
+         */
+        DirectoryProperty getCacheDirectory();
+
+        /**
+         * @return The maximum total size of the remapped jars in bytes.
+         */
+        Property<Long> getMaximumSize();
+
+        /**
+         * @return The time after which a remapped jar that has not been used is removed.
+         */
+        Property<Duration> getMaximumAge();
+    }
+
+    /**
+     * Computes the cache key of a jar remapped with the given mappings.
+     *
+     * @param input     The jar that is remapped.
+     * @param mappings  The identifier of the mappings the jar is remapped with.
+     * @param tools     The resolved mappings files, and the jar of the remapper.
+     * @param classpath The classpath the jar is remapped against.
+     * @return The cache key.
+     */
+    public String computeKey(final File input, final String mappings, final Iterable<File> tools, final Iterable<File> classpath) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(mappings.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(hash(input));
+            for (final File file : tools) {
+                digest.update(hash(file));
+            }
+            digest.update((byte) 0);
+            // The order of the classpath does not change the result of the remapper, so it does not change the key either.
+            final List<byte[]> classpathHashes = new ArrayList<>();
+            for (final File file : classpath) {
+                if (file.isFile()) {
+                    classpathHashes.add(hash(file));
+                }
+            }
+            classpathHashes.stream()
+                    .map(HexFormat.of()::formatHex)
+                    .sorted()
+                    .forEach(hash -> digest.update(hash.getBytes(StandardCharsets.UTF_8)));
+
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | UncheckedIOException e) {
+            throw new GradleException("Failed to compute the remap cache key of: %s".formatted(input), e);
+        }
+    }
+
+    /**
+     * Hashes the content of a file. Hashes of files which did not change are reused within a build, as the same
+     * classpath is hashed for every bundled jar.
+     */
+    private byte[] hash(final File file) {
+        final String identity = "%s|%d|%d".formatted(file.getAbsolutePath(), file.length(), file.lastModified());
+        return fileHashes.computeIfAbsent(identity, ignored -> {
+            try (InputStream stream = Files.newInputStream(file.toPath())) {
+                final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                final byte[] buffer = new byte[64 * 1024];
+                int read;
+                while ((read = stream.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+                return digest.digest();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    /**
+     * Looks up a remapped jar.
+     *
+     * @param key The cache key.
+     * @return The cached remapped jar, or {@code null} when the jar has not been remapped yet.
+     */
+    public @Nullable File find(final String key) {
+        final File cached = getCacheFile(key);
+        if (!cached.isFile()) {
+            return null;
+        }
+
+        // The modification time tracks the last use, which is what entries are evicted by.
+        cached.setLastModified(System.currentTimeMillis());
+        modified = true;
+        return cached;
+    }
+
+    /**
+     * Stores a remapped jar in the cache.
+     * Concurrent stores of the same key, from this or another build, are safe; the first completed store wins.
+     *
+     * @param key      The cache key.
+     * @param remapped The remapped jar.
+     */
+    public void store(final String key, final File remapped) {
+        final Path target = getCacheFile(key).toPath();
+        if (Files.isRegularFile(target)) {
+            return;
+        }
+
+        try {
+            Files.createDirectories(target.getParent());
+            final Path temporary = Files.createTempFile(target.getParent(), key, ".tmp");
+            try {
+                Files.copy(remapped.toPath(), temporary, StandardCopyOption.REPLACE_EXISTING);
+                try {
+                    Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+            modified = true;
+        } catch (IOException e) {
+            throw new GradleException("Failed to store remapped jar in the remap cache: %s".formatted(remapped), e);
+        }
+    }
+
+    private File getCacheFile(final String key) {
+        return getParameters().getCacheDirectory().file("%s/%s.jar".formatted(key.substring(0, 2), key)).get().getAsFile();
+    }
+
+    /**
+     * Removes the entries that are too old, and then the least recently used entries until the cache fits its size.
+     * Failures are only logged, an oversized cache is not a reason to fail the build.
+     */
+    @Override
+    public void close() {
+        if (!modified) {
+            return;
+        }
+
+        final Path directory = getParameters().getCacheDirectory().get().getAsFile().toPath();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        final Instant oldest = Instant.now().minus(getParameters().getMaximumAge().getOrElse(DEFAULT_MAXIMUM_AGE));
+        final long maximumSize = getParameters().getMaximumSize().getOrElse(DEFAULT_MAXIMUM_SIZE);
+        try (Stream<Path> files = Files.walk(directory)) {
+            final List<Entry> entries = new ArrayList<>();
+            files.filter(path -> path.getFileName().toString().endsWith(".jar"))
+                    .filter(Files::isRegularFile)
+                    .forEach(path -> {
+                        try {
+                            entries.add(new Entry(path, Files.size(path), Files.getLastModifiedTime(path)));
+                        } catch (IOException e) {
+                            LOGGER.debug("Failed to inspect remap cache entry: {}", path, e);
+                        }
+                    });
+
+            entries.sort(Comparator.comparing(Entry::lastUsed).reversed());
+            long size = 0;
+            for (final Entry entry : entries) {
+                size += entry.size();
+                if (size > maximumSize || entry.lastUsed().toInstant().isBefore(oldest)) {
+                    Files.deleteIfExists(entry.path());
+                    size -= entry.size();
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Failed to clean up the remap cache: {}", directory, e);
+        }
+    }
+
+    private record Entry(Path path, long size, FileTime lastUsed) {
+    }
+}
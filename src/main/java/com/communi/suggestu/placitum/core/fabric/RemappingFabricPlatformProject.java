@@ -4,17 +4,30 @@ import net.fabricmc.loom.LoomRemapGradlePlugin;
 import net.fabricmc.loom.api.LoomGradleExtensionAPI;
 import net.fabricmc.loom.task.RemapJarTask;
 import org.apache.commons.lang3.StringUtils;
+import org.gradle.api.Action;
+import org.gradle.api.GradleException;
 import org.gradle.api.Project;
+import org.gradle.api.Task;
+import org.gradle.api.Transformer;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.attributes.Attribute;
 import org.gradle.api.component.AdhocComponentWithVariants;
+import org.gradle.api.file.Directory;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.FileSystemLocation;
+import org.gradle.api.file.RegularFile;
 import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.specs.Spec;
 import org.gradle.api.tasks.TaskProvider;
-import org.gradle.api.tasks.bundling.Jar;
 import org.jetbrains.annotations.NotNull;
 
 import javax.inject.Inject;
+import java.io.File;
+import java.net.URISyntaxException;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
 
 public abstract class RemappingFabricPlatformProject extends AbstractFabricPlatformProject
 {
@@ -67,18 +80,130 @@ public abstract class RemappingFabricPlatformProject extends AbstractFabricPlatf
             ));
     }
 
-    protected void includeAndExposeCommonProject(final Project project, final Project commonProject, final TaskProvider<@NotNull Jar> bundleFmjTask, final String commonProjectName)
+    protected void includeAndExposeCommonProject(final Project project, final String commonProject, final FileCollection bundledJar, final String commonProjectName)
     {
+        final Provider<RemapCacheService> remapCache = registerRemapCache(project);
+        final Provider<String> mappings = getMappingsIdentifier(project.getExtensions().getByType(Platform.class));
+        final FileCollection tools = project.files(project.getConfigurations().named("mappings"), getRemapperLocation());
+
         final TaskProvider<@NotNull RemapJarTask> remapBundledTask = project.getTasks().register("remapBundled%s".formatted(StringUtils.capitalize(commonProjectName)), RemapJarTask.class, task -> {
-            task.dependsOn(bundleFmjTask);
-            task.getInputFile().set(bundleFmjTask.flatMap(Jar::getArchiveFile));
+            task.dependsOn(bundledJar);
+            task.getInputFile().fileProvider(bundledJar.getElements().map(new SingleFile()));
             task.getArchiveClassifier().set("%s-remapped".formatted(commonProjectName));
+
+            task.usesService(remapCache);
+            task.onlyIf("the remapped jar is not in the remap cache yet", new IsNotRemapped(remapCache, mappings, tools));
+            task.doLast(new StoreInRemapCache(remapCache, mappings, tools));
         });
 
-        project.getTasks().named("remapJar", RemapJarTask.class, task -> {
-            task.getNestedJars().from(remapBundledTask.flatMap(RemapJarTask::getArchiveFile));
+        final TaskProvider<RestoreRemappedJar> restoreBundledTask = project.getTasks().register("restoreRemapped%s".formatted(StringUtils.capitalize(commonProjectName)), RestoreRemappedJar.class, task -> {
+            task.usesService(remapCache);
+            task.getRemapCache().set(remapCache);
+            task.getInputFile().set(remapBundledTask.flatMap(RemapJarTask::getInputFile));
+            task.getMappings().set(mappings);
+            task.getTools().from(tools);
+            task.getClasspath().from(remapBundledTask.map(RemapJarTask::getClasspath));
+            task.getOutputFile().set(project.getLayout().getBuildDirectory().dir("placitum/remapped")
+                .zip(remapBundledTask.flatMap(RemapJarTask::getArchiveFileName), new ResolveFile()));
             task.dependsOn(remapBundledTask);
         });
+
+        project.getTasks().named("remapJar", RemapJarTask.class, task -> {
+            task.getNestedJars().from(restoreBundledTask.flatMap(RestoreRemappedJar::getOutputFile));
+        });
+    }
+
+    private static Provider<RemapCacheService> registerRemapCache(final Project project)
+    {
+        final File cacheDirectory = new File(project.getGradle().getGradleUserHomeDir(), "caches/placitum/remap");
+        return project.getGradle().getSharedServices().registerIfAbsent(RemapCacheService.NAME, RemapCacheService.class, spec -> {
+            spec.getParameters().getCacheDirectory().set(cacheDirectory);
+            spec.getParameters().getMaximumSize().convention(RemapCacheService.DEFAULT_MAXIMUM_SIZE);
+            spec.getParameters().getMaximumAge().convention(RemapCacheService.DEFAULT_MAXIMUM_AGE);
+        });
+    }
+
+    /**
+     * Identifies the mappings a bundled jar is remapped with.
+     * The minecraft version is part of the identifier as it determines the classpath the remapper resolves against.
+     */
+    private static Provider<String> getMappingsIdentifier(final Platform platform)
+    {
+        return platform.getMinecraft().getVersion().zip(
+            platform.getParchment().getMinecraftVersion().zip(
+                platform.getParchment().getVersion(),
+                "parchment-%s:%s"::formatted
+            ),
+            "minecraft-%s/official/%s"::formatted
+        );
+    }
+
+    /**
+     * The jar Loom is loaded from. Its content identifies the remapper, regardless of whether it declares a version.
+     */
+    private static File getRemapperLocation()
+    {
+        try {
+            return new File(RemapJarTask.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (URISyntaxException | NullPointerException e) {
+            throw new GradleException("Failed to locate the Loom plugin jar", e);
+        }
+    }
+
+    /**
+     * Skips the remapping of a bundled jar which has been remapped before, {@link RestoreRemappedJar} copies it from the cache.
+     */
+    private record IsNotRemapped(Provider<RemapCacheService> remapCache, Provider<String> mappings, FileCollection tools) implements Spec<Task>
+    {
+        @Override
+        public boolean isSatisfiedBy(final Task task)
+        {
+            final RemapJarTask remapTask = (RemapJarTask) task;
+            final String key = remapCache.get().computeKey(remapTask.getInputFile().get().getAsFile(), mappings.get(), tools, remapTask.getClasspath());
+            return remapCache.get().find(key) == null;
+        }
+    }
+
+    /**
+     * Stores the result of remapping a bundled jar in the remap cache.
+     */
+    private record StoreInRemapCache(Provider<RemapCacheService> remapCache, Provider<String> mappings, FileCollection tools) implements Action<Task>
+    {
+        @Override
+        public void execute(@NotNull final Task task)
+        {
+            final RemapJarTask remapTask = (RemapJarTask) task;
+            final String key = remapCache.get().computeKey(remapTask.getInputFile().get().getAsFile(), mappings.get(), tools, remapTask.getClasspath());
+            remapCache.get().store(key, remapTask.getArchiveFile().get().getAsFile());
+        }
+    }
+
+    /**
+     * Resolves a file name in a directory.
+     */
+    private record ResolveFile() implements BiFunction<Directory, String, RegularFile>
+    {
+        @Override
+        public RegularFile apply(final Directory directory, final String name)
+        {
+            return directory.file(name);
+        }
+    }
+
+    /**
+     * Selects the only file of a file collection.
+     */
+    private record SingleFile() implements Transformer<File, Set<FileSystemLocation>>
+    {
+        @Override
+        public @NotNull File transform(@NotNull final Set<FileSystemLocation> locations)
+        {
+            if (locations.size() != 1) {
+                throw new GradleException("Expected exactly one bundled jar, but found: %s".formatted(locations));
+            }
+
+            return locations.iterator().next().getAsFile();
+        }
     }
 
     @Override
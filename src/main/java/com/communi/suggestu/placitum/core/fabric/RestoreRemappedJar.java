@@ -0,0 +1,84 @@
+package com.communi.suggestu.placitum.core.fabric;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Copies a remapped bundled jar out of the remap cache into the build of the project that nests it.
+ * <p>
+ * The remap task of the bundled jar only runs when the cache does not hold the jar yet, and stores its result, so this
+ * task finds the jar either way, and every consumer of the same jar shares a single remapping.
+ */
+public abstract class RestoreRemappedJar extends DefaultTask {
+
+    public RestoreRemappedJar() {
+        setDescription("Copies a bundled jar, remapped once for every set of mappings, from the remap cache");
+        setGroup("placitum");
+    }
+
+    @Internal
+    public abstract Property<RemapCacheService> getRemapCache();
+
+    /**
+     * @return The bundled jar before it is remapped.
+     */
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getInputFile();
+
+    /**
+     * @return The identifier of the mappings the jar is remapped with.
+     */
+    @Input
+    public abstract Property<String> getMappings();
+
+    /**
+     * @return The resolved mappings files, and the jar of the remapper.
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract ConfigurableFileCollection getTools();
+
+    /**
+     * @return The classpath the jar is remapped against.
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getClasspath();
+
+    @OutputFile
+    public abstract RegularFileProperty getOutputFile();
+
+    @TaskAction
+    public void restore() {
+        final File input = getInputFile().get().getAsFile();
+        final RemapCacheService remapCache = getRemapCache().get();
+        final File cached = remapCache.find(remapCache.computeKey(input, getMappings().get(), getTools(), getClasspath()));
+        if (cached == null) {
+            throw new GradleException("The remapped jar of %s is not in the remap cache, its remap task did not store it".formatted(input));
+        }
+
+        final File output = getOutputFile().get().getAsFile();
+        try {
+            Files.copy(cached.toPath(), output.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new GradleException("Failed to restore remapped jar from the remap cache: %s".formatted(cached), e);
+        }
+    }
+}
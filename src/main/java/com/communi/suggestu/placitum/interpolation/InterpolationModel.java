@@ -0,0 +1,115 @@
+package com.communi.suggestu.placitum.interpolation;
+
+import org.gradle.api.GradleException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Utilities to flatten the interpolation model and to store it on disk, so that changes to it can be tracked per key.
+ */
+public final class InterpolationModel {
+
+    private InterpolationModel() {
+        throw new IllegalStateException("Can not instantiate an instance of: InterpolationModel. This is a utility class");
+    }
+
+    /**
+     * Flattens a nested interpolation model into dotted keys.
+     *
+     * @param model The nested model.
+     * @return The flattened model, sorted by key.
+     */
+    public static SortedMap<String, String> flatten(final Map<String, ?> model) {
+        final SortedMap<String, String> result = new TreeMap<>();
+        flatten("", model, result);
+        return result;
+    }
+
+    private static void flatten(final String prefix, final Map<?, ?> model, final Map<String, String> result) {
+        model.forEach((key, value) -> {
+            if (value == null) {
+                return;
+            }
+
+            final String path = prefix + key;
+            if (value instanceof Map<?, ?> nested) {
+                flatten(path + ".", nested, result);
+            } else {
+                result.put(path, value.toString());
+            }
+        });
+    }
+
+    /**
+     * Determines the keys whose values differ between two flattened models.
+     */
+    public static Set<String> difference(final Map<String, String> previous, final Map<String, String> current) {
+        final Set<String> keys = new HashSet<>(previous.keySet());
+        keys.addAll(current.keySet());
+        keys.removeIf(key -> Objects.equals(previous.get(key), current.get(key)));
+        return keys;
+    }
+
+    public static void write(final Map<String, String> model, final Path file) {
+        final StringBuilder builder = new StringBuilder();
+        new TreeMap<>(model).forEach((key, value) -> builder.append(key).append('=').append(escape(value)).append('\n'));
+
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, builder, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new GradleException("Failed to write interpolation model to: %s".formatted(file), e);
+        }
+    }
+
+    public static SortedMap<String, String> read(final Path file) {
+        final List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new GradleException("Failed to read interpolation model from: %s".formatted(file), e);
+        }
+
+        final SortedMap<String, String> model = new TreeMap<>();
+        for (final String line : lines) {
+            final int separator = line.indexOf('=');
+            if (separator > 0) {
+                model.put(line.substring(0, separator), unescape(line.substring(separator + 1)));
+            }
+        }
+        return model;
+    }
+
+    private static String escape(final String value) {
+        return value.replace("\\", "\\\\").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private static String unescape(final String value) {
+        final StringBuilder builder = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            final char current = value.charAt(i);
+            if (current != '\\' || i + 1 >= value.length()) {
+                builder.append(current);
+                continue;
+            }
+
+            final char escaped = value.charAt(++i);
+            builder.append(switch (escaped) {
+                case 'n' -> '\n';
+                case 'r' -> '\r';
+                default -> escaped;
+            });
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,290 @@
+package com.communi.suggestu.placitum.interpolation;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import groovy.text.SimpleTemplateEngine;
+import groovy.text.Template;
+import org.gradle.api.GradleException;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Pattern;
+
+/**
+ * A compiled resource template.
+ * <p>
+ * Templates which only use {@code ${key.path}} and {@code $key.path} references, with {@code \$} producing a literal
+ * dollar sign, are compiled into literal and reference segments. Any other template syntax, like {@code <% %>} blocks
+ * and {@code ${}} expressions, is rendered by Groovy's template engine, the same way {@code expand} does. Those scripted
+ * templates see the values of the model as strings, and are considered to reference every key.
+ *
+ * @param segments   The literal and reference segments of the template, in order, or the full text of a scripted template.
+ * @param references The keys the template references.
+ * @param scripted   Whether the template is rendered by Groovy's template engine.
+ */
+public record InterpolationTemplate(List<Segment> segments, Set<String> references, boolean scripted) {
+
+    /**
+     * The reference recorded for scripted templates, which may reference any key.
+     */
+    public static final String ALL_REFERENCES = "*";
+
+    private static final int FORMAT = 1;
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)*");
+
+    private static final Cache<String, Template> SCRIPTS = CacheBuilder.newBuilder()
+            .maximumSize(256)
+            .build();
+
+    /**
+     * Compiles the given template text.
+     *
+     * @param text   The text of the template.
+     * @param source A description of where the template originates from, used in error messages.
+     * @return The compiled template.
+     */
+    public static InterpolationTemplate compile(final String text, final String source) {
+        if (text.contains("<%")) {
+            return scripted(text);
+        }
+
+        final List<Segment> segments = new ArrayList<>();
+        final Set<String> references = new TreeSet<>();
+        final StringBuilder literal = new StringBuilder();
+
+        int index = 0;
+        while (index < text.length()) {
+            final char current = text.charAt(index);
+            if (current == '\\' && index + 1 < text.length() && text.charAt(index + 1) == '$') {
+                literal.append('$');
+                index += 2;
+                continue;
+            }
+
+            if (current != '$' || index + 1 >= text.length()) {
+                literal.append(current);
+                index++;
+                continue;
+            }
+
+            final int end;
+            final String key;
+            if (text.charAt(index + 1) == '{') {
+                end = text.indexOf('}', index + 2);
+                if (end == -1) {
+                    throw new GradleException("Unterminated interpolation expression in %s at offset %d".formatted(source, index));
+                }
+
+                key = text.substring(index + 2, end).trim();
+                if (!KEY_PATTERN.matcher(key).matches()) {
+                    return scripted(text);
+                }
+            } else {
+                end = scanKey(text, index + 1) - 1;
+                key = text.substring(index + 1, end + 1);
+                if (key.isEmpty()) {
+                    literal.append(current);
+                    index++;
+                    continue;
+                }
+            }
+
+            if (!literal.isEmpty()) {
+                segments.add(new Segment(literal.toString(), false));
+                literal.setLength(0);
+            }
+            segments.add(new Segment(key, true));
+            references.add(key);
+            index = end + 1;
+        }
+
+        if (!literal.isEmpty()) {
+            segments.add(new Segment(literal.toString(), false));
+        }
+
+        return new InterpolationTemplate(List.copyOf(segments), Collections.unmodifiableSet(references), false);
+    }
+
+    private static InterpolationTemplate scripted(final String text) {
+        return new InterpolationTemplate(List.of(new Segment(text, false)), Set.of(ALL_REFERENCES), true);
+    }
+
+    /**
+     * Scans a dotted key, starting at the given index, the same way a Groovy template does for an unbraced reference.
+     *
+     * @return The index directly after the key.
+     */
+    private static int scanKey(final String text, final int start) {
+        int index = start;
+        while (index < text.length() && Character.isJavaIdentifierStart(text.charAt(index))) {
+            index++;
+            while (index < text.length() && Character.isJavaIdentifierPart(text.charAt(index))) {
+                index++;
+            }
+
+            if (index + 1 < text.length() && text.charAt(index) == '.' && Character.isJavaIdentifierStart(text.charAt(index + 1))) {
+                index++;
+            } else {
+                break;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Renders the template.
+     *
+     * @param values The flattened interpolation model.
+     * @param source A description of where the template originates from, used in error messages.
+     * @return The rendered text.
+     */
+    public String render(final Map<String, String> values, final String source) {
+        if (scripted) {
+            return renderScript(segments.get(0).value(), values, source);
+        }
+
+        final StringBuilder builder = new StringBuilder();
+        for (final Segment segment : segments) {
+            if (!segment.reference()) {
+                builder.append(segment.value());
+                continue;
+            }
+
+            final String value = values.get(segment.value());
+            if (value == null) {
+                throw new GradleException("Unknown interpolation key '%s' in %s".formatted(segment.value(), source));
+            }
+            builder.append(value);
+        }
+        return builder.toString();
+    }
+
+    private static String renderScript(final String text, final Map<String, String> values, final String source) {
+        final Template template;
+        try {
+            // Compiled Groovy templates are kept for the lifetime of the daemon, they are the expensive part of rendering.
+            template = SCRIPTS.get(text, () -> new SimpleTemplateEngine().createTemplate(text));
+        } catch (ExecutionException e) {
+            throw new GradleException("Failed to compile the template %s".formatted(source), e.getCause());
+        }
+
+        try {
+            return template.make(unflatten(values)).toString();
+        } catch (RuntimeException e) {
+            throw new GradleException("Failed to interpolate the template %s".formatted(source), e);
+        }
+    }
+
+    /**
+     * Restores the nested model from the flattened one, which scripted templates navigate.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> unflatten(final Map<String, String> values) {
+        final Map<String, Object> model = new LinkedHashMap<>();
+        values.forEach((key, value) -> {
+            final String[] parts = key.split("\\.");
+            Map<String, Object> parent = model;
+            for (int i = 0; i < parts.length - 1; i++) {
+                if (!(parent.get(parts[i]) instanceof Map<?, ?>)) {
+                    parent.put(parts[i], new LinkedHashMap<String, Object>());
+                }
+                parent = (Map<String, Object>) parent.get(parts[i]);
+            }
+
+            parent.putIfAbsent(parts[parts.length - 1], value);
+        });
+        return model;
+    }
+
+    /**
+     * Writes the compiled template, so that it does not need to be compiled again while its source is unchanged.
+     *
+     * @param file The file to write to.
+     */
+    public void write(final Path file) {
+        try (OutputStream stream = Files.newOutputStream(file);
+             DataOutputStream output = new DataOutputStream(stream)) {
+            output.writeInt(FORMAT);
+            output.writeBoolean(scripted);
+            output.writeInt(references.size());
+            for (final String reference : references) {
+                writeString(output, reference);
+            }
+            output.writeInt(segments.size());
+            for (final Segment segment : segments) {
+                output.writeBoolean(segment.reference());
+                writeString(output, segment.value());
+            }
+        } catch (IOException e) {
+            throw new GradleException("Failed to write compiled template to: %s".formatted(file), e);
+        }
+    }
+
+    /**
+     * Reads a compiled template written by {@link #write(Path)}.
+     *
+     * @param file The file to read from.
+     * @return The compiled template, or {@code null} when the file was written in a different format.
+     */
+    public static InterpolationTemplate read(final Path file) {
+        try (InputStream stream = Files.newInputStream(file);
+             DataInputStream input = new DataInputStream(stream)) {
+            if (input.readInt() != FORMAT) {
+                return null;
+            }
+
+            final boolean scripted = input.readBoolean();
+            final Set<String> references = new TreeSet<>();
+            final int referenceCount = input.readInt();
+            for (int i = 0; i < referenceCount; i++) {
+                references.add(readString(input));
+            }
+
+            final int segmentCount = input.readInt();
+            final List<Segment> segments = new ArrayList<>(segmentCount);
+            for (int i = 0; i < segmentCount; i++) {
+                final boolean reference = input.readBoolean();
+                segments.add(new Segment(readString(input), reference));
+            }
+            return new InterpolationTemplate(List.copyOf(segments), Collections.unmodifiableSet(references), scripted);
+        } catch (IOException e) {
+            throw new GradleException("Failed to read compiled template from: %s".formatted(file), e);
+        }
+    }
+
+    private static void writeString(final DataOutputStream output, final String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(final DataInputStream input) throws IOException {
+        final byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A single segment of a template.
+     *
+     * @param value     The literal text, or the referenced key.
+     * @param reference Whether the segment is a key reference.
+     */
+    public record Segment(String value, boolean reference) {
+    }
+}
@@ -0,0 +1,111 @@
+package com.communi.suggestu.placitum.interpolation;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.util.List;
+
+/**
+ * Classifies resource files by their content, so that only text files that contain template markers, {@code $} or
+ * {@code <%}, are interpolated.
+ * <p>
+ * The content is sniffed directly: a file is only classified when it is interpolated, and the content is read for that
+ * anyway, so the single pass over it costs less than hashing it to look up an earlier verdict.
+ */
+public final class ResourceClassifier {
+
+    private static final int SNIFF_LENGTH = 8 * 1024;
+
+    private static final List<byte[]> BINARY_SIGNATURES = List.of(
+            new byte[] {(byte) 0x89, 'P', 'N', 'G'},
+            new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF},
+            new byte[] {'G', 'I', 'F', '8'},
+            new byte[] {'O', 'g', 'g', 'S'},
+            new byte[] {'R', 'I', 'F', 'F'},
+            new byte[] {'f', 'L', 'a', 'C'},
+            new byte[] {'I', 'D', '3'},
+            new byte[] {'P', 'K', 0x03, 0x04},
+            new byte[] {0x1F, (byte) 0x8B},
+            new byte[] {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE},
+            new byte[] {'O', 'T', 'T', 'O'},
+            new byte[] {0x00, 0x01, 0x00, 0x00},
+            new byte[] {'w', 'O', 'F', 'F'},
+            new byte[] {'w', 'O', 'F', '2'}
+    );
+
+    private ResourceClassifier() {
+        throw new IllegalStateException("Can not instantiate an instance of: ResourceClassifier. This is a utility class");
+    }
+
+    /**
+     * Classifies the given file content.
+     *
+     * @param content The content of the file.
+     * @param charset The charset text files are expected to be encoded in.
+     * @return The verdict.
+     */
+    public static Verdict classify(final byte[] content, final Charset charset) {
+        for (final byte[] signature : BINARY_SIGNATURES) {
+            if (startsWith(content, signature)) {
+                return Verdict.BINARY;
+            }
+        }
+
+        for (int i = 0; i < Math.min(content.length, SNIFF_LENGTH); i++) {
+            if (content[i] == 0) {
+                return Verdict.BINARY;
+            }
+        }
+
+        try {
+            charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(content));
+        } catch (CharacterCodingException e) {
+            return Verdict.BINARY;
+        }
+
+        // The template markers are references and Groovy scriptlets, which may be the only markers in a template.
+        for (int i = 0; i < content.length; i++) {
+            if (content[i] == '$' || (content[i] == '<' && i + 1 < content.length && content[i + 1] == '%')) {
+                return Verdict.TEMPLATE;
+            }
+        }
+
+        return Verdict.TEXT;
+    }
+
+    private static boolean startsWith(final byte[] content, final byte[] signature) {
+        if (content.length < signature.length) {
+            return false;
+        }
+
+        for (int i = 0; i < signature.length; i++) {
+            if (content[i] != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public enum Verdict {
+        /**
+         * Binary content, which is copied as is.
+         */
+        BINARY,
+        /**
+         * Text content without template markers, which is copied as is.
+         */
+        TEXT,
+        /**
+         * Text content with template markers, which is interpolated.
+         */
+        TEMPLATE;
+
+        public boolean isInterpolated() {
+            return this == TEMPLATE;
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.communi.suggestu.placitum.minecraft;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A content addressed store of the Minecraft files both loader toolchains need: the version metadata, the client and
+ * server jars, and the asset index and objects. It is shared between all projects of a build and persisted between builds.
+ * <p>
+ * Mojang publishes the SHA-1 hash of each of these files, so every file is stored, and verified, by that hash.
+ * Files are fetched from Mojang, or from a mirror which replicates the paths of the Mojang servers. A mirror can be
+ * a local directory, which allows the store to be filled without network access. When Gradle runs offline, only
+ * files that are already stored, or available from a local mirror, are provided.
+ */
+public abstract class MinecraftArtifactStore implements BuildService<MinecraftArtifactStore.Parameters> {
+
+    public static final String NAME = "placitumMinecraftArtifactStore";
+    public static final String PROPERTY = "placitum.minecraft.store";
+    public static final String MIRROR_PROPERTY = "placitum.minecraft.mirror";
+
+    public static final String VERSION_MANIFEST_URL = "https://piston-meta.mojang.com/mc/game/version_manifest_v2.json";
+    public static final String RESOURCES_URL = "https://resources.download.minecraft.net/";
+
+    public interface Parameters extends BuildServiceParameters {
+
+        /**
+         * @return The directory in which the files are stored.
+         */
+        DirectoryProperty getStoreDirectory();
+
+        /**
+         * @return The base url of a mirror of the Mojang servers, when not set the files are fetched from Mojang.
+         */
+        Property<String> getMirror();
+
+        /**
+         * @return Whether Gradle runs offline, in which case nothing is fetched from the network.
+         */
+        Property<Boolean> getOffline();
+    }
+
+    /**
+     * Resolves the downloads of a Minecraft version, storing its version metadata.
+     *
+     * @param version The id of the version.
+     * @return The downloads of the version, or {@code null} when they are not stored and can not be fetched.
+     */
+    public synchronized @Nullable MinecraftVersion resolve(final String version) {
+        final Path manifestFile = getManifestFile();
+        MinecraftVersion.Download metadata = Files.isRegularFile(manifestFile) ? findVersion(manifestFile, version) : null;
+        if (metadata == null) {
+            if (!canDownload()) {
+                return null;
+            }
+
+            // New versions are only listed in a newer manifest, the manifest itself is not content addressed.
+            download(VERSION_MANIFEST_URL, manifestFile, null);
+            metadata = findVersion(manifestFile, version);
+        }
+
+        if (metadata == null) {
+            throw new GradleException("Minecraft version %s is not listed in the version manifest".formatted(version));
+        }
+
+        final Path metadataFile = fetch(metadata);
+        if (metadataFile == null) {
+            return null;
+        }
+
+        final JsonObject json = read(metadataFile).getAsJsonObject();
+        final JsonObject downloads = json.getAsJsonObject("downloads");
+        final JsonObject assetIndex = json.getAsJsonObject("assetIndex");
+        return new MinecraftVersion(
+            version,
+            metadata,
+            toDownload(downloads.getAsJsonObject("client")),
+            toDownload(downloads.getAsJsonObject("server")),
+            assetIndex.get("id").getAsString(),
+            toDownload(assetIndex)
+        );
+    }
+
+    /**
+     * Reads the asset objects of a version, storing its asset index.
+     *
+     * @param version The version.
+     * @return The asset objects of the version, empty when the asset index is not stored and can not be fetched.
+     */
+    public MinecraftVersion.Assets resolveAssets(final MinecraftVersion version) {
+        final Path index = fetch(version.assetIndex());
+        if (index == null) {
+            return new MinecraftVersion.Assets(Map.of());
+        }
+
+        final JsonObject objects = read(index).getAsJsonObject().getAsJsonObject("objects");
+        final Map<String, MinecraftVersion.Download> assets = new LinkedHashMap<>();
+        for (final Map.Entry<String, JsonElement> entry : objects.entrySet()) {
+            final String hash = entry.getValue().getAsJsonObject().get("hash").getAsString();
+            assets.put(entry.getKey(), asset(hash));
+        }
+        return new MinecraftVersion.Assets(assets);
+    }
+
+    /**
+     * @param hash The SHA-1 hash of an asset object.
+     * @return The download of the asset object.
+     */
+    public static MinecraftVersion.Download asset(final String hash) {
+        return new MinecraftVersion.Download(RESOURCES_URL + getObjectPath(hash), hash);
+    }
+
+    /**
+     * Fetches a file into the store, unless it is already stored.
+     *
+     * @param download The file.
+     * @return The stored file, or {@code null} when it is not stored and can not be fetched.
+     */
+    public @Nullable Path fetch(final MinecraftVersion.Download download) {
+        final Path target = getStoreDirectory().resolve("objects").resolve(getObjectPath(download.sha1()));
+        if (!Files.isRegularFile(target)) {
+            if (!canDownload()) {
+                return null;
+            }
+
+            download(download.url(), target, download.sha1());
+        }
+        return target;
+    }
+
+    /**
+     * Places a stored file at the location a loader toolchain expects it.
+     * The file is hard linked when possible, so that the toolchain does not keep a second copy of it.
+     *
+     * @param download The file.
+     * @param target   The location the toolchain expects the file at.
+     */
+    public void place(final MinecraftVersion.Download download, final Path target) {
+        if (Files.isRegularFile(target)) {
+            return;
+        }
+
+        final Path stored = fetch(download);
+        if (stored == null) {
+            // Left to the toolchain, which fails with its own message when it needs the file.
+            return;
+        }
+
+        try {
+            Files.createDirectories(target.getParent());
+            try {
+                Files.createLink(target, stored);
+            } catch (FileAlreadyExistsException e) {
+                // Placed concurrently.
+            } catch (IOException | UnsupportedOperationException e) {
+                Files.copy(stored, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new GradleException("Failed to place %s at: %s".formatted(download.url(), target), e);
+        }
+    }
+
+    /**
+     * Copies the stored version manifest to the location a loader toolchain expects it. The manifest is copied instead of
+     * linked, as it is replaced whenever a newer version is requested.
+     *
+     * @param target The location the toolchain expects the manifest at.
+     */
+    public synchronized void placeManifest(final Path target) {
+        final Path manifest = getManifestFile();
+        if (Files.isRegularFile(target) || !Files.isRegularFile(manifest)) {
+            return;
+        }
+
+        try {
+            Files.createDirectories(target.getParent());
+            Files.copy(manifest, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new GradleException("Failed to place the version manifest at: %s".formatted(target), e);
+        }
+    }
+
+    private boolean canDownload() {
+        return !getParameters().getOffline().getOrElse(false) || getParameters().getMirror().map(mirror -> mirror.startsWith("file:")).getOrElse(false);
+    }
+
+    private Path getManifestFile() {
+        return getStoreDirectory().resolve("manifests/version_manifest_v2.json");
+    }
+
+    private Path getStoreDirectory() {
+        return getParameters().getStoreDirectory().get().getAsFile().toPath();
+    }
+
+    private static String getObjectPath(final String hash) {
+        return "%s/%s".formatted(hash.substring(0, 2), hash);
+    }
+
+    private static MinecraftVersion.Download toDownload(final JsonObject json) {
+        return new MinecraftVersion.Download(json.get("url").getAsString(), json.get("sha1").getAsString());
+    }
+
+    private static @Nullable MinecraftVersion.Download findVersion(final Path manifest, final String version) {
+        for (final JsonElement element : read(manifest).getAsJsonObject().getAsJsonArray("versions")) {
+            final JsonObject candidate = element.getAsJsonObject();
+            if (candidate.get("id").getAsString().equals(version)) {
+                return toDownload(candidate);
+            }
+        }
+        return null;
+    }
+
+    private static JsonElement read(final Path file) {
+        try {
+            return JsonParser.parseString(Files.readString(file, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new GradleException("Failed to read: " + file, e);
+        }
+    }
+
+    private String getSourceUrl(final String url) {
+        final String mirror = getParameters().getMirror().getOrNull();
+        if (mirror == null) {
+            return url;
+        }
+
+        return mirror.replaceAll("/+$", "") + URI.create(url).getPath();
+    }
+
+    /**
+     * Downloads a file, verifying its hash when it is known, and atomically moves it into place.
+     */
+    private void download(final String url, final Path target, @Nullable final String sha1) {
+        final String source = getSourceUrl(url);
+        try {
+            Files.createDirectories(target.getParent());
+            final Path temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            try {
+                final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+                try (InputStream input = new DigestInputStream(URI.create(source).toURL().openStream(), digest);
+                     OutputStream output = Files.newOutputStream(temporary)) {
+                    input.transferTo(output);
+                }
+
+                final String actual = HexFormat.of().formatHex(digest.digest());
+                if (sha1 != null && !sha1.equalsIgnoreCase(actual)) {
+                    throw new GradleException("The hash of %s is %s, but %s was expected".formatted(source, actual, sha1));
+                }
+
+                try {
+                    Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new GradleException("Failed to download: " + source, e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.communi.suggestu.placitum.minecraft;
+
+import java.io.File;
+import java.nio.file.Path;
+
+/**
+ * The locations at which a loader toolchain caches the files of a Minecraft version.
+ *
+ * @param versionManifest The version manifest.
+ * @param versionMetadata The version metadata.
+ * @param client          The client jar.
+ * @param server          The server jar.
+ * @param assetIndexes    The directory of the asset indexes.
+ * @param assetObjects    The directory of the asset objects.
+ */
+public record MinecraftCacheLayout(
+    Path versionManifest,
+    Path versionMetadata,
+    Path client,
+    Path server,
+    Path assetIndexes,
+    Path assetObjects) {
+
+    /**
+     * @return The layout of the global cache of Loom.
+     */
+    public static MinecraftCacheLayout loom(final File gradleUserHome, final String version) {
+        final Path root = gradleUserHome.toPath().resolve("caches/fabric-loom");
+        return new MinecraftCacheLayout(
+            root.resolve("versions_manifest.json"),
+            root.resolve(version).resolve("minecraft-info.json"),
+            root.resolve(version).resolve("minecraft-client.jar"),
+            root.resolve(version).resolve("minecraft-server.jar"),
+            root.resolve("assets/indexes"),
+            root.resolve("assets/objects")
+        );
+    }
+
+    /**
+     * @return The layout of the global cache of NeoGradle.
+     */
+    public static MinecraftCacheLayout neoGradle(final File gradleUserHome, final String version) {
+        final Path root = gradleUserHome.toPath().resolve("caches/minecraft");
+        return new MinecraftCacheLayout(
+            root.resolve("launcher_metadata.json"),
+            root.resolve("versions").resolve(version).resolve("metadata.json"),
+            root.resolve("versions").resolve(version).resolve("client.jar"),
+            root.resolve("versions").resolve(version).resolve("server.jar"),
+            root.resolve("assets/indexes"),
+            root.resolve("assets/objects")
+        );
+    }
+
+    /**
+     * Places the version manifest, the version metadata and the jars of a version from the store into this layout.
+     * These are the files a toolchain needs while the build is configured.
+     *
+     * @param store   The store.
+     * @param version The version.
+     */
+    public void fill(final MinecraftArtifactStore store, final MinecraftVersion version) {
+        store.placeManifest(versionManifest);
+        store.place(version.metadata(), versionMetadata);
+        store.place(version.client(), client);
+        store.place(version.server(), server);
+    }
+
+    /**
+     * @return The location of an asset object in this layout.
+     */
+    public Path assetObject(final String hash) {
+        return assetObjects.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    /**
+     * The loader toolchains whose caches can be filled from the store.
+     */
+    public enum Toolchain {
+        LOOM,
+        NEO_GRADLE;
+
+        /**
+         * @return The layout of the cache of this toolchain.
+         */
+        public MinecraftCacheLayout layout(final File gradleUserHome, final String version) {
+            return switch (this) {
+                case LOOM -> loom(gradleUserHome, version);
+                case NEO_GRADLE -> neoGradle(gradleUserHome, version);
+            };
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.communi.suggestu.placitum.minecraft;
+
+import java.util.Map;
+
+/**
+ * The downloads of a single Minecraft version, as described by its version metadata.
+ *
+ * @param id          The id of the version.
+ * @param metadata    The version metadata.
+ * @param client      The client jar.
+ * @param server      The server jar.
+ * @param assetIndexId The id of the asset index.
+ * @param assetIndex  The asset index.
+ */
+public record MinecraftVersion(
+    String id,
+    Download metadata,
+    Download client,
+    Download server,
+    String assetIndexId,
+    Download assetIndex) {
+
+    /**
+     * A file published by Mojang, addressed by its SHA-1 hash.
+     *
+     * @param url  The url the file is published at.
+     * @param sha1 The SHA-1 hash of the file.
+     */
+    public record Download(String url, String sha1) {
+    }
+
+    /**
+     * The asset objects of a version, by their path in the asset index.
+     *
+     * @param objects The asset objects.
+     */
+    public record Assets(Map<String, Download> objects) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.communi.suggestu.placitum.platform;
+
+import javax.annotation.Nullable;
+import java.util.Locale;
+
+/**
+ * The kinds of projects Placitum manages.
+ */
+public enum ProjectKind {
+    CORE(null),
+    COMMON(null),
+    PLUGIN(null),
+    NEOFORGE("neoforge"),
+    REMAPPING_FABRIC("fabric"),
+    FABRIC("fabric");
+
+    @Nullable
+    private final String loader;
+
+    ProjectKind(@Nullable String loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * @return The identifier of the kind, as used in reports.
+     */
+    public String getId() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    /**
+     * @return The loader the kind of project targets, or {@code null} when it is loader independent.
+     */
+    @Nullable
+    public String getLoader() {
+        return loader;
+    }
+}
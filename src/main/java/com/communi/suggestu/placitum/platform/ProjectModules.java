@@ -1,12 +1,37 @@
 package com.communi.suggestu.placitum.platform;
 
-import com.google.common.collect.Sets;
-
+import javax.annotation.Nullable;
+import java.util.Map;
 import java.util.Set;
 
+/**
+ * The immutable module graph of a build, frozen once the settings are evaluated.
+ * A single instance is shared by all platform projects of the build.
+ *
+ * @param coreCodeProject The path of the core project.
+ * @param commonProjects The paths of the common projects.
+ * @param pluginProjects The paths of the plugin projects which are bundled.
+ * @param devPluginProjects The paths of the plugin projects which are only used during development.
+ * @param projectKinds The kind of every platform project, by project path.
+ * @param build The build wide data shared by all platform projects.
+ */
 public record ProjectModules(
     String coreCodeProject,
     Set<String> commonProjects,
     Set<String> pluginProjects,
-    Set<String> devPluginProjects) {
-}
\ No newline at end of file
+    Set<String> devPluginProjects,
+    Map<String, ProjectKind> projectKinds,
+    SharedBuildData build) {
+
+    public ProjectModules {
+        commonProjects = Set.copyOf(commonProjects);
+        pluginProjects = Set.copyOf(pluginProjects);
+        devPluginProjects = Set.copyOf(devPluginProjects);
+        projectKinds = Map.copyOf(projectKinds);
+    }
+
+    @Nullable
+    public ProjectKind getKind(final String path) {
+        return projectKinds.get(path);
+    }
+}
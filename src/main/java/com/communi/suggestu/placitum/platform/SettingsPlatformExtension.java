@@ -8,39 +8,224 @@ import com.communi.suggestu.placitum.core.fabric.RemappingFabricPlatformProject;
 import com.communi.suggestu.placitum.core.NeoForgePlatformProject;
 import com.communi.suggestu.placitum.core.PluginPlatformProject;
 import org.gradle.api.Action;
+import org.gradle.api.InvalidUserDataException;
 import org.gradle.api.Project;
+import org.gradle.api.Transformer;
 import org.gradle.api.initialization.Settings;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
 import org.gradle.api.model.ObjectFactory;
+import org.gradle.api.provider.Property;
 import org.gradle.api.provider.ProviderFactory;
+import org.gradle.api.provider.SetProperty;
 
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import java.io.File;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public abstract class SettingsPlatformExtension {
 
     public static final String EXTENSION_NAME = "platforms";
+    public static final String LOADERS_PROPERTY = "placitum.loaders";
+    public static final String SHARED_NEOFORM_RUNTIME_PROPERTY = "placitum.neoform.shared";
+    public static final String DEPENDENCY_LOCKING_PROPERTY = "placitum.locking";
+    public static final String MAVEN_LOCAL_GROUPS_PROPERTY = "placitum.mavenLocal.groups";
+
+    private static final Logger LOGGER = Logging.getLogger(SettingsPlatformExtension.class);
 
     private final Settings settings;
     private final Map<String, ProjectDescriptor> knownDynamicDescriptors = new LinkedHashMap<>();
 
     private final AbstractPlatformProject.Platform defaults;
 
+    @Nullable
+    private ProjectModules modules;
+    private Set<String> selectedLoaders = Set.of();
+
     @Inject
     public SettingsPlatformExtension(Settings settings) {
         this.settings = settings;
         this.defaults = getObjectFactory().newInstance(Platform.class, getObjectFactory(), settings.getProviders());
+
+        getGroup().convention(settings.getProviders().gradleProperty("group"));
+        getVersion().convention(settings.getProviders().gradleProperty("version"));
+        getSharedNeoFormRuntime().convention(settings.getProviders().gradleProperty(SHARED_NEOFORM_RUNTIME_PROPERTY).map(Boolean::parseBoolean).orElse(false));
+        getDependencyLocking().convention(settings.getProviders().gradleProperty(DEPENDENCY_LOCKING_PROPERTY).map(Boolean::parseBoolean).orElse(false));
+        getLoaders().convention(settings.getProviders().gradleProperty(LOADERS_PROPERTY).map(new SplitLoaders()).orElse(Set.of()));
+        getMavenLocalGroups().convention(settings.getProviders().gradleProperty(MAVEN_LOCAL_GROUPS_PROPERTY).map(new SplitGroups()).orElse(Set.of()));
     }
 
     @Inject
     public abstract ObjectFactory getObjectFactory();
 
+    /**
+     * @return The group shared by all platform projects, defaults to the {@code group} gradle property.
+     */
+    public abstract Property<String> getGroup();
+
+    /**
+     * @return The version shared by all platform projects, defaults to the {@code version} gradle property.
+     */
+    public abstract Property<String> getVersion();
+
+    /**
+     * When enabled only the core project runs a NeoForm runtime, and the common and plugin projects compile against
+     * the runtime it packages. This requires them to use the same NeoForm version, Parchment mappings and access transformers.
+     * Defaults to the {@code placitum.neoform.shared} gradle property.
+     *
+     * @return Whether the NeoForm runtime is shared.
+     */
+    public abstract Property<Boolean> getSharedNeoFormRuntime();
+
+    /**
+     * When enabled the dependencies of all configurations Placitum manages are locked, so that dynamic versions, like
+     * the NeoForm version range, resolve reproducibly and without looking up repository metadata.
+     * The locks are written with the {@code placitumLockDependencies} task. Defaults to the {@code placitum.locking} gradle property.
+     *
+     * @return Whether dependency locking is enabled.
+     */
+    public abstract Property<Boolean> getDependencyLocking();
+
+    /**
+     * The groups, including their subgroups, which the platform projects resolve from maven local.
+     * Defaults to the comma separated {@code placitum.mavenLocal.groups} gradle property, when empty maven local is not used.
+     * Plugins are only resolved from maven local for the groups of the gradle property, as their repositories are declared before the settings script runs.
+     *
+     * @return The groups resolved from maven local.
+     */
+    public abstract SetProperty<String> getMavenLocalGroups();
+
+    /**
+     * The loaders whose projects are configured, defaults to the comma separated {@code placitum.loaders} gradle property.
+     * When empty, the projects of all loaders are configured.
+     * <p>
+     * Loader projects are only included once the settings are evaluated, and only when their loader is selected, so
+     * the build scripts of the other loaders, and their loader specific DSL, are never evaluated.
+     *
+     * @return The selected loaders.
+     */
+    public abstract SetProperty<String> getLoaders();
+
+    /**
+     * Selects the loaders whose projects are configured, normalized the same way as the {@code placitum.loaders} gradle property.
+     *
+     * @param loaders The loaders, case-insensitive.
+     */
+    public void only(final String... loaders) {
+        getLoaders().set(normalizeLoaders(Arrays.stream(loaders)));
+    }
+
+    /**
+     * Indicates whether the project is part of this build.
+     * Projects of loaders which are not selected are not included at all, so their build scripts are not evaluated.
+     *
+     * @param path The path of the project.
+     * @return {@code true} when the project is loader independent, or its loader is selected.
+     */
+    public boolean isSelected(final String path) {
+        final ProjectKind kind = getModules().getKind(path);
+        if (kind == null || kind.getLoader() == null) {
+            return true;
+        }
+
+        return isSelected(kind, selectedLoaders);
+    }
+
+    private static boolean isSelected(final ProjectKind kind, final Set<String> loaders) {
+        return kind.getLoader() == null || loaders.isEmpty() || loaders.contains(kind.getLoader());
+    }
+
+    /**
+     * @return The module graph of the build.
+     * @throws IllegalStateException when the module graph is not yet frozen, which happens once the settings are evaluated.
+     */
+    public ProjectModules getModules() {
+        if (modules == null) {
+            throw new IllegalStateException("The platform projects are not known until the settings are evaluated");
+        }
+
+        return modules;
+    }
+
+    /**
+     * Validates the registered projects, includes the projects of the selected loaders and freezes them into the
+     * module graph of the build. After this, no further projects can be registered.
+     */
+    public void freeze() {
+        if (modules != null) {
+            return;
+        }
+
+        final Set<String> loaders = getLoaders().get();
+        final Set<String> knownLoaders = Arrays.stream(ProjectKind.values())
+            .map(ProjectKind::getLoader)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        if (!knownLoaders.containsAll(loaders)) {
+            throw new InvalidUserDataException("Unknown loaders selected: %s, known loaders are: %s".formatted(loaders, knownLoaders));
+        }
+
+        // Loader projects are only included now, as the selection can still change while the settings are evaluated.
+        knownDynamicDescriptors.forEach((path, descriptor) -> {
+            if (descriptor.kind().getLoader() != null && isSelected(descriptor.kind(), loaders)) {
+                settings.include(path);
+            }
+        });
+
+        String coreProject = null;
+        final Set<String> commonProjects = new HashSet<>();
+        final Set<String> pluginProjects = new HashSet<>();
+        final Set<String> devPluginProjects = new HashSet<>();
+        for (final Map.Entry<String, ProjectDescriptor> entry : knownDynamicDescriptors.entrySet()) {
+            final ProjectDescriptor descriptor = entry.getValue();
+            if (!isSelected(descriptor.kind(), loaders)) {
+                continue;
+            }
+
+            final File projectDirectory = settings.project(entry.getKey()).getProjectDir();
+            if (!projectDirectory.isDirectory()) {
+                LOGGER.warn("The directory of platform project {} does not exist: {}", entry.getKey(), projectDirectory);
+            }
+
+            if (descriptor.isCore()) {
+                coreProject = entry.getKey();
+            } else if (descriptor.isCommon()) {
+                commonProjects.add(entry.getKey());
+            } else if (descriptor.isPlugin() && descriptor.isDevOnly()) {
+                devPluginProjects.add(entry.getKey());
+            } else if (descriptor.isPlugin()) {
+                pluginProjects.add(entry.getKey());
+            }
+        }
+
+        if (coreProject == null) {
+            throw new InvalidUserDataException("No core project is registered, register one with: platforms.core(path)");
+        }
+
+        this.selectedLoaders = Set.copyOf(loaders);
+        this.modules = new ProjectModules(coreProject, commonProjects, pluginProjects, devPluginProjects, getProjectKinds(), getSharedBuildData());
+    }
+
+    public SharedBuildData getSharedBuildData() {
+        final Map<String, File> projectDirectories = new HashMap<>();
+        knownDynamicDescriptors.keySet().stream()
+            .map(settings::findProject)
+            .filter(Objects::nonNull)
+            .forEach(project -> projectDirectories.put(project.getPath(), project.getProjectDir()));
+        return new SharedBuildData(getGroup().getOrNull(), getVersion().getOrNull(), Map.copyOf(projectDirectories), getSharedNeoFormRuntime().get(), getDependencyLocking().get(), getMavenLocalGroups().get());
+    }
+
     public void common(final String path) {
         registerProject(path, ProjectDescriptor.common(p -> new CommonPlatformProject()));
     }
@@ -75,7 +260,7 @@ public abstract class SettingsPlatformExtension {
     }
 
     public void fabric(final String path, boolean obfuscated) {
-        registerProject(path, ProjectDescriptor.loaderSpecific(p -> {
+        registerProject(path, ProjectDescriptor.loaderSpecific(obfuscated ? ProjectKind.REMAPPING_FABRIC : ProjectKind.FABRIC, p -> {
             if (obfuscated)
                 return p.getObjects().newInstance(RemappingFabricPlatformProject.class);
 
@@ -84,7 +269,7 @@ public abstract class SettingsPlatformExtension {
     }
 
     public void neoforge(final String path) {
-        registerProject(path, ProjectDescriptor.loaderSpecific(p -> p.getObjects().newInstance(NeoForgePlatformProject.class)));
+        registerProject(path, ProjectDescriptor.loaderSpecific(ProjectKind.NEOFORGE, p -> p.getObjects().newInstance(NeoForgePlatformProject.class)));
     }
 
     public AbstractPlatformProject.Platform getDefaults() {
@@ -96,7 +281,20 @@ public abstract class SettingsPlatformExtension {
     }
 
     private void registerProject(String path, ProjectDescriptor factory) {
-        settings.include(path);
+        if (modules != null) {
+            throw new IllegalStateException("Platform projects can not be registered after the settings are evaluated: " + path);
+        }
+        if (!path.startsWith(":")) {
+            throw new InvalidUserDataException("Platform projects need to be registered with an absolute path, like ':%s'".formatted(path));
+        }
+        if (knownDynamicDescriptors.containsKey(path)) {
+            // A project with two kinds would depend on itself, for example a core project which is also a common project.
+            throw new InvalidUserDataException("Project %s is already registered as a %s project".formatted(path, knownDynamicDescriptors.get(path).kind().getId()));
+        }
+
+        if (factory.kind().getLoader() == null) {
+            settings.include(path);
+        }
         knownDynamicDescriptors.put(path, factory);
     }
 
@@ -109,6 +307,15 @@ public abstract class SettingsPlatformExtension {
         return knownDynamicDescriptors.get(path).builder();
     }
 
+    /**
+     * @return The kind of every registered project, by project path.
+     */
+    public Map<String, ProjectKind> getProjectKinds() {
+        final Map<String, ProjectKind> kinds = new LinkedHashMap<>();
+        knownDynamicDescriptors.forEach((path, descriptor) -> kinds.put(path, descriptor.kind()));
+        return kinds;
+    }
+
     public Set<String> getCommonProjectPaths() {
         return knownDynamicDescriptors.entrySet()
                 .stream()
@@ -142,21 +349,46 @@ public abstract class SettingsPlatformExtension {
             .collect(Collectors.toSet());
     }
 
-    private record ProjectDescriptor(boolean isCore, boolean isCommon, boolean isPlugin, boolean isDevOnly, Function<Project, IPlatformProject> builder) {
+    private record ProjectDescriptor(ProjectKind kind, boolean isCore, boolean isCommon, boolean isPlugin, boolean isDevOnly, Function<Project, IPlatformProject> builder) {
         public static ProjectDescriptor core(Function<Project, IPlatformProject> builder) {
-            return new ProjectDescriptor(true, false, false, false, builder);
+            return new ProjectDescriptor(ProjectKind.CORE, true, false, false, false, builder);
         }
 
         public static ProjectDescriptor common(Function<Project, IPlatformProject> builder) {
-            return new ProjectDescriptor(false, true, false, false, builder);
+            return new ProjectDescriptor(ProjectKind.COMMON, false, true, false, false, builder);
         }
 
         public static ProjectDescriptor plugin(Function<Project, IPlatformProject> builder, boolean isDevOnly) {
-            return new ProjectDescriptor(false, false, true, isDevOnly, builder);
+            return new ProjectDescriptor(ProjectKind.PLUGIN, false, false, true, isDevOnly, builder);
+        }
+
+        public static ProjectDescriptor loaderSpecific(ProjectKind kind, Function<Project, IPlatformProject> builder) {
+            return new ProjectDescriptor(kind, false, false, false, false, builder);
         }
+    }
 
-        public static ProjectDescriptor loaderSpecific(Function<Project, IPlatformProject> builder) {
-            return new ProjectDescriptor(false, false, false, false, builder);
+    private record SplitLoaders() implements Transformer<Set<String>, String> {
+        @Override
+        public Set<String> transform(final String loaders) {
+            return normalizeLoaders(Arrays.stream(loaders.split(",")));
+        }
+    }
+
+    private static Set<String> normalizeLoaders(final Stream<String> loaders) {
+        return loaders
+            .map(String::trim)
+            .filter(loader -> !loader.isEmpty())
+            .map(loader -> loader.toLowerCase(Locale.ROOT))
+            .collect(Collectors.toSet());
+    }
+
+    private record SplitGroups() implements Transformer<Set<String>, String> {
+        @Override
+        public Set<String> transform(final String groups) {
+            return Arrays.stream(groups.split(","))
+                .map(String::trim)
+                .filter(group -> !group.isEmpty())
+                .collect(Collectors.toSet());
         }
     }
 
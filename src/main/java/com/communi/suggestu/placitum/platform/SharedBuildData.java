@@ -0,0 +1,40 @@
+package com.communi.suggestu.placitum.platform;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Build wide data, resolved once from the settings, that every platform project shares.
+ * This allows projects to be wired together without accessing the model of another project.
+ * A {@code null} group or version means the settings did not declare it, and the root project remains the source of truth.
+ *
+ * @param group The group of all platform projects.
+ * @param version The version of all platform projects.
+ * @param projectDirectories The project directory of every platform project, by project path.
+ * @param sharedNeoFormRuntime Whether the core project runs the only NeoForm runtime, which the common and plugin projects compile against.
+ * @param dependencyLocking Whether the configurations Placitum manages are locked.
+ * @param mavenLocalGroups The groups which are resolved from maven local, when empty maven local is not used.
+ */
+public record SharedBuildData(
+    @Nullable String group,
+    @Nullable String version,
+    Map<String, File> projectDirectories,
+    boolean sharedNeoFormRuntime,
+    boolean dependencyLocking,
+    Set<String> mavenLocalGroups) {
+
+    public SharedBuildData {
+        mavenLocalGroups = Set.copyOf(mavenLocalGroups);
+    }
+
+    public File getProjectDirectory(final String path) {
+        final File directory = projectDirectories.get(path);
+        if (directory == null) {
+            throw new IllegalArgumentException("Project is not a platform project: " + path);
+        }
+
+        return directory;
+    }
+}
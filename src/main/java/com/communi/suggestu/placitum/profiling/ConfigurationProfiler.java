@@ -0,0 +1,181 @@
+package com.communi.suggestu.placitum.profiling;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.Project;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.gradle.api.services.BuildServiceRegistration;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records how long the phases of configuring Placitum projects take, and how many tasks, configurations and
+ * dependencies each phase creates.
+ * <p>
+ * The profiler is only registered when the {@value #PROPERTY} gradle property is set to {@code true}; otherwise
+ * starting a phase is a no-op.
+ */
+public abstract class ConfigurationProfiler implements BuildService<ConfigurationProfiler.Parameters> {
+
+    public static final String NAME = "placitumConfigurationProfiler";
+    public static final String PROPERTY = "placitum.profile";
+
+    public interface Parameters extends BuildServiceParameters {
+
+        /**
+         * @return The file the JSON report is written to.
+         */
+        RegularFileProperty getReportFile();
+    }
+
+    private final Map<String, Map<String, PhaseStatistics>> projects = new ConcurrentSkipListMap<>();
+    private final Map<String, AtomicInteger> dependencyCounters = new ConcurrentHashMap<>();
+
+    /**
+     * Starts a phase of configuring the given project.
+     *
+     * @param project The project that is configured.
+     * @param phase   The name of the phase.
+     * @return The phase, which needs to be closed when it is complete.
+     */
+    public static Phase start(final Project project, final String phase) {
+        final BuildServiceRegistration<?, ?> registration = project.getGradle().getSharedServices().getRegistrations().findByName(NAME);
+        if (registration == null) {
+            return Phase.NONE;
+        }
+
+        return ((ConfigurationProfiler) registration.getService().get()).begin(project, phase);
+    }
+
+    private Phase begin(final Project project, final String phase) {
+        final AtomicInteger dependencies = dependencyCounters.computeIfAbsent(project.getPath(), path -> {
+            final AtomicInteger counter = new AtomicInteger();
+            project.getConfigurations().configureEach(configuration -> configuration.getDependencies().whenObjectAdded(dependency -> counter.incrementAndGet()));
+            return counter;
+        });
+
+        return new ActivePhase(this, project, phase, dependencies, System.nanoTime(), countTasks(project), countConfigurations(project), dependencies.get());
+    }
+
+    private static int countTasks(final Project project) {
+        return project.getTasks().getNames().size();
+    }
+
+    private static int countConfigurations(final Project project) {
+        return project.getConfigurations().getNames().size();
+    }
+
+    private void record(final String project, final String phase, final long nanos, final int tasks, final int configurations, final int dependencies) {
+        projects.computeIfAbsent(project, key -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(phase, key -> new PhaseStatistics())
+                .add(nanos, tasks, configurations, dependencies);
+    }
+
+    /**
+     * Writes the JSON report, and logs a summary table.
+     *
+     * @param logger The logger to write the summary to.
+     */
+    public void report(final Logger logger) {
+        final Path reportFile = getParameters().getReportFile().get().getAsFile().toPath();
+        try {
+            Files.createDirectories(reportFile.getParent());
+            Files.writeString(reportFile, toJson(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new GradleException("Failed to write the configuration profile to: %s".formatted(reportFile), e);
+        }
+
+        final String format = "%-40s %-24s %6s %10s %6s %6s %6s";
+        final List<String> lines = new ArrayList<>();
+        lines.add(format.formatted("project", "phase", "calls", "ms", "tasks", "confs", "deps"));
+        projects.forEach((project, phases) -> phases.forEach((phase, statistics) -> lines.add(format.formatted(
+                project,
+                phase,
+                statistics.invocations,
+                "%.2f".formatted(statistics.nanos / 1_000_000d),
+                statistics.tasks,
+                statistics.configurations,
+                statistics.dependencies
+        ))));
+
+        logger.lifecycle("Placitum configuration profile, written to: {}", reportFile);
+        lines.forEach(logger::lifecycle);
+    }
+
+    private String toJson() {
+        final StringBuilder builder = new StringBuilder("{\n  \"projects\": [");
+        final String[] projectSeparator = {"\n"};
+        projects.forEach((project, phases) -> {
+            builder.append(projectSeparator[0]).append("    {\"path\": \"").append(project).append("\", \"phases\": [");
+            projectSeparator[0] = ",\n";
+
+            final String[] phaseSeparator = {"\n"};
+            phases.forEach((phase, statistics) -> {
+                builder.append(phaseSeparator[0])
+                        .append("      {\"name\": \"").append(phase)
+                        .append("\", \"invocations\": ").append(statistics.invocations)
+                        .append(", \"durationNanos\": ").append(statistics.nanos)
+                        .append(", \"tasks\": ").append(statistics.tasks)
+                        .append(", \"configurations\": ").append(statistics.configurations)
+                        .append(", \"dependencies\": ").append(statistics.dependencies)
+                        .append('}');
+                phaseSeparator[0] = ",\n";
+            });
+            builder.append("\n    ]}");
+        });
+        return builder.append("\n  ]\n}\n").toString();
+    }
+
+    /**
+     * A phase of configuring a project.
+     */
+    public interface Phase extends AutoCloseable {
+
+        Phase NONE = () -> {};
+
+        @Override
+        void close();
+    }
+
+    private record ActivePhase(ConfigurationProfiler profiler, Project project, String name, AtomicInteger dependencyCounter,
+                               long start, int tasks, int configurations, int dependencies) implements Phase {
+        @Override
+        public void close() {
+            profiler.record(
+                    project.getPath(),
+                    name,
+                    System.nanoTime() - start,
+                    countTasks(project) - tasks,
+                    countConfigurations(project) - configurations,
+                    dependencyCounter.get() - dependencies
+            );
+        }
+    }
+
+    private static final class PhaseStatistics {
+        private int invocations;
+        private long nanos;
+        private int tasks;
+        private int configurations;
+        private int dependencies;
+
+        private synchronized void add(final long nanos, final int tasks, final int configurations, final int dependencies) {
+            this.invocations++;
+            this.nanos += nanos;
+            this.tasks += tasks;
+            this.configurations += configurations;
+            this.dependencies += dependencies;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.communi.suggestu.placitum.profiling;
+
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.gradle.tooling.events.FinishEvent;
+import org.gradle.tooling.events.OperationCompletionListener;
+import org.gradle.tooling.events.OperationResult;
+import org.gradle.tooling.events.task.TaskFailureResult;
+import org.gradle.tooling.events.task.TaskFinishEvent;
+import org.gradle.tooling.events.task.TaskSkippedResult;
+import org.gradle.tooling.events.task.TaskSuccessResult;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records the execution of Placitum owned tasks as spans, and writes them as a Chrome trace when the build finishes.
+ * Optionally, the spans are also exported to an OTLP/HTTP endpoint, for example a local OpenTelemetry collector.
+ * <p>
+ * Spans are tagged with the project path, and the kind of Placitum project the task belongs to.
+ */
+public abstract class TaskTracer implements BuildService<TaskTracer.Parameters>, OperationCompletionListener, AutoCloseable {
+
+    public static final String NAME = "placitumTaskTracer";
+    public static final String PROPERTY = "placitum.trace";
+    public static final String OTLP_ENDPOINT_PROPERTY = "placitum.trace.otlpEndpoint";
+
+    public static final List<String> DEFAULT_TASK_PREFIXES = List.of(
+            "remapBundled",
+            "remapJar",
+            "jarJar",
+            "processResources",
+            "interpolateResources",
+            "writeInterpolationModel",
+            "copyIdeaResources",
+            "run"
+    );
+
+    private static final Logger LOGGER = Logging.getLogger(TaskTracer.class);
+
+    public interface Parameters extends BuildServiceParameters {
+
+        /**
+         * @return The file the Chrome trace is written to.
+         */
+        RegularFileProperty getTraceFile();
+
+        /**
+         * @return The OTLP/HTTP traces endpoint to export to, spans are not exported when absent.
+         */
+        Property<String> getOtlpEndpoint();
+
+        /**
+         * @return The kind of every Placitum project, by project path.
+         */
+        MapProperty<String, String> getProjectKinds();
+
+        /**
+         * @return The prefixes of the names of the tasks that are traced.
+         */
+        ListProperty<String> getTaskPrefixes();
+    }
+
+    private final List<Span> spans = new ArrayList<>();
+
+    @Override
+    public void onFinish(final FinishEvent event) {
+        if (!(event instanceof TaskFinishEvent taskEvent)) {
+            return;
+        }
+
+        final String taskPath = taskEvent.getDescriptor().getTaskPath();
+        final int separator = taskPath.lastIndexOf(':');
+        final String projectPath = separator <= 0 ? ":" : taskPath.substring(0, separator);
+        final String taskName = taskPath.substring(separator + 1);
+
+        final String kind = getParameters().getProjectKinds().get().get(projectPath);
+        if (kind == null || getParameters().getTaskPrefixes().get().stream().noneMatch(taskName::startsWith)) {
+            return;
+        }
+
+        final OperationResult result = taskEvent.getResult();
+        final Span span = new Span(taskPath, projectPath, kind, getOutcome(result), result.getStartTime(), result.getEndTime());
+        synchronized (spans) {
+            spans.add(span);
+        }
+    }
+
+    private static String getOutcome(final OperationResult result) {
+        if (result instanceof TaskFailureResult) {
+            return "failed";
+        }
+        if (result instanceof TaskSkippedResult) {
+            return "skipped";
+        }
+        if (result instanceof TaskSuccessResult success) {
+            if (success.isFromCache()) {
+                return "from-cache";
+            }
+            return success.isUpToDate() ? "up-to-date" : "executed";
+        }
+        return "unknown";
+    }
+
+    @Override
+    public void close() {
+        final List<Span> recorded;
+        synchronized (spans) {
+            recorded = List.copyOf(spans);
+        }
+
+        final Path traceFile = getParameters().getTraceFile().get().getAsFile().toPath();
+        try {
+            Files.createDirectories(traceFile.getParent());
+            Files.writeString(traceFile, toChromeTrace(recorded), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write the Placitum task trace to: {}", traceFile, e);
+        }
+
+        if (getParameters().getOtlpEndpoint().isPresent() && !recorded.isEmpty()) {
+            export(getParameters().getOtlpEndpoint().get(), recorded);
+        }
+    }
+
+    private static String toChromeTrace(final List<Span> spans) {
+        final Map<String, Integer> threads = new LinkedHashMap<>();
+        final StringBuilder builder = new StringBuilder("{\"traceEvents\":[");
+        for (int i = 0; i < spans.size(); i++) {
+            final Span span = spans.get(i);
+            final int thread = threads.computeIfAbsent(span.projectPath(), path -> threads.size() + 1);
+            if (i > 0) {
+                builder.append(',');
+            }
+
+            builder.append("\n{\"name\":\"").append(escape(span.taskPath()))
+                    .append("\",\"cat\":\"").append(span.kind())
+                    .append("\",\"ph\":\"X\",\"pid\":1,\"tid\":").append(thread)
+                    .append(",\"ts\":").append(span.startMillis() * 1000)
+                    .append(",\"dur\":").append((span.endMillis() - span.startMillis()) * 1000)
+                    .append(",\"args\":{\"project\":\"").append(escape(span.projectPath()))
+                    .append("\",\"loader\":\"").append(span.kind())
+                    .append("\",\"outcome\":\"").append(span.outcome())
+                    .append("\"}}");
+        }
+
+        threads.forEach((path, thread) -> builder.append(",\n{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":").append(thread)
+                .append(",\"args\":{\"name\":\"").append(escape(path)).append("\"}}"));
+        return builder.append("\n]}\n").toString();
+    }
+
+    private static void export(final String endpoint, final List<Span> spans) {
+        final SecureRandom random = new SecureRandom();
+        final byte[] traceId = new byte[16];
+        random.nextBytes(traceId);
+
+        final StringBuilder builder = new StringBuilder("{\"resourceSpans\":[{\"resource\":{\"attributes\":[")
+                .append("{\"key\":\"service.name\",\"value\":{\"stringValue\":\"placitum\"}}")
+                .append("]},\"scopeSpans\":[{\"scope\":{\"name\":\"placitum\"},\"spans\":[");
+        for (int i = 0; i < spans.size(); i++) {
+            final Span span = spans.get(i);
+            final byte[] spanId = new byte[8];
+            random.nextBytes(spanId);
+            if (i > 0) {
+                builder.append(',');
+            }
+
+            builder.append("{\"traceId\":\"").append(HexFormat.of().formatHex(traceId))
+                    .append("\",\"spanId\":\"").append(HexFormat.of().formatHex(spanId))
+                    .append("\",\"name\":\"").append(escape(span.taskPath()))
+                    .append("\",\"kind\":1")
+                    .append(",\"startTimeUnixNano\":\"").append(span.startMillis() * 1_000_000)
+                    .append("\",\"endTimeUnixNano\":\"").append(span.endMillis() * 1_000_000)
+                    .append("\",\"attributes\":[")
+                    .append(attribute("gradle.project.path", span.projectPath())).append(',')
+                    .append(attribute("placitum.loader", span.kind())).append(',')
+                    .append(attribute("gradle.task.outcome", span.outcome()))
+                    .append("],\"status\":{\"code\":").append(span.outcome().equals("failed") ? 2 : 1)
+                    .append("}}");
+        }
+        builder.append("]}]}]}");
+
+        try (HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build()) {
+            final HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(endpoint))
+                            .timeout(Duration.ofSeconds(10))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(builder.toString()))
+                            .build(),
+                    HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() / 100 != 2) {
+                LOGGER.warn("Exporting the Placitum task trace to {} failed with status {}", endpoint, response.statusCode());
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Failed to export the Placitum task trace to: {}", endpoint, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String attribute(final String key, final String value) {
+        return "{\"key\":\"%s\",\"value\":{\"stringValue\":\"%s\"}}".formatted(key, escape(value));
+    }
+
+    private static String escape(final String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private record Span(String taskPath, String projectPath, String kind, String outcome, long startMillis, long endMillis) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.communi.suggestu.placitum.tasks;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.TaskAction;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Emits all interpolation keys, and their values, that are available in a project.
+ */
+public abstract class EmitInterpolationKeys extends DefaultTask {
+
+    public EmitInterpolationKeys() {
+        setDescription("Emits all interpolation keys Placitum makes available in the current project");
+        setGroup("placitum");
+    }
+
+    @Input
+    public abstract MapProperty<String, Object> getInterpolation();
+
+    @TaskAction
+    public void emit() {
+        final Logger logger = getLogger();
+
+        logger.lifecycle("=======================");
+        logger.lifecycle("Interpolatable values: ");
+
+        emitInterpolationMap(logger, getInterpolation().get(), 0);
+        logger.lifecycle("=======================");
+    }
+
+    private static void emitInterpolationMap(final Logger logger, final Map<?, ?> interpolate, final int depth) {
+        final String prefix;
+        if (depth == 0) {
+            prefix = "- ";
+        } else {
+            prefix = String.join("", Collections.nCopies(depth, "  ")) + "∟> ";
+        }
+
+        interpolate.forEach((key, value) -> {
+            if (value instanceof Map<?, ?> subMap) {
+                logger.lifecycle("%s%s:".formatted(prefix, key));
+                emitInterpolationMap(logger, subMap, depth + 1);
+            } else {
+                logger.lifecycle("%s%s -> %s".formatted(prefix, key, value));
+            }
+        });
+    }
+}
@@ -0,0 +1,123 @@
+package com.communi.suggestu.placitum.tasks;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Packs caches of the gradle user home into a single archive, which is named after the SHA-256 hash of its content.
+ * The archive is reproducible, so the same caches always result in the same archive.
+ */
+public abstract class ExportCacheBundle extends DefaultTask {
+
+    public static final String NAME = "placitumExportCache";
+    public static final String BUNDLE_PREFIX = "placitum-cache-";
+
+    /**
+     * The caches of the loader toolchains, the Placitum stores, and the dependency cache. NeoGradle keeps the Minecraft
+     * files and its central cache, which holds the decompiled and recompiled NeoForm outputs, in {@code caches/minecraft}.
+     */
+    public static final List<String> DEFAULT_CACHE_DIRECTORIES = List.of("caches/placitum", "caches/fabric-loom", "caches/minecraft", "caches/modules-2");
+
+    public ExportCacheBundle() {
+        setDescription("Packs the caches a warmup fills into a single, content addressed, archive");
+        setGroup("placitum");
+        doNotTrackState("The caches are not part of the build");
+    }
+
+    @Internal
+    public abstract DirectoryProperty getGradleUserHome();
+
+    /**
+     * @return The directories to pack, relative to the gradle user home.
+     */
+    @Input
+    public abstract ListProperty<String> getCacheDirectories();
+
+    @OutputDirectory
+    public abstract DirectoryProperty getDestinationDirectory();
+
+    @TaskAction
+    public void export() {
+        final Path gradleUserHome = getGradleUserHome().get().getAsFile().toPath();
+        final Path destination = getDestinationDirectory().get().getAsFile().toPath();
+
+        try {
+            final List<Path> files = new ArrayList<>();
+            for (final String directory : getCacheDirectories().get()) {
+                final Path root = gradleUserHome.resolve(directory);
+                if (!Files.isDirectory(root)) {
+                    continue;
+                }
+
+                try (Stream<Path> walk = Files.walk(root)) {
+                    walk.filter(Files::isRegularFile).filter(ExportCacheBundle::isPortable).forEach(files::add);
+                }
+            }
+            files.sort(null);
+
+            final Path temporary = Files.createTempFile(destination, BUNDLE_PREFIX, ".tmp");
+            try {
+                try (OutputStream output = Files.newOutputStream(temporary);
+                     ZipOutputStream zip = new ZipOutputStream(output)) {
+                    for (final Path file : files) {
+                        final ZipEntry entry = new ZipEntry(gradleUserHome.relativize(file).toString().replace('\\', '/'));
+                        entry.setTime(0);
+                        zip.putNextEntry(entry);
+                        Files.copy(file, zip);
+                        zip.closeEntry();
+                    }
+                }
+
+                final Path bundle = destination.resolve(BUNDLE_PREFIX + hash(temporary) + ".zip");
+                Files.move(temporary, bundle, StandardCopyOption.REPLACE_EXISTING);
+                getLogger().lifecycle("Exported {} cached files to: {}", files.size(), bundle);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            throw new GradleException("Failed to export the caches", e);
+        }
+    }
+
+    /**
+     * Locks and temporary files only have a meaning for the process which created them.
+     */
+    private static boolean isPortable(final Path file) {
+        final String name = file.getFileName().toString();
+        return !name.endsWith(".lock") && !name.endsWith(".tmp") && !name.equals("gc.properties");
+    }
+
+    static String hash(final Path file) throws IOException {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream input = new DigestInputStream(Files.newInputStream(file), digest)) {
+                input.transferTo(OutputStream.nullOutputStream());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+}
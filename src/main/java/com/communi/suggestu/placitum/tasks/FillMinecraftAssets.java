@@ -0,0 +1,84 @@
+package com.communi.suggestu.placitum.tasks;
+
+import com.communi.suggestu.placitum.minecraft.MinecraftArtifactStore;
+import com.communi.suggestu.placitum.minecraft.MinecraftCacheLayout;
+import com.communi.suggestu.placitum.minecraft.MinecraftVersion;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Places the asset index and asset objects of a Minecraft version from the artifact store into the cache of a loader
+ * toolchain, before the toolchain downloads them itself.
+ * <p>
+ * The objects are placed in batches on the workers of the build, so the number of parallel downloads is bounded by
+ * the maximum number of workers.
+ */
+public abstract class FillMinecraftAssets extends DefaultTask {
+
+    public static final String NAME = "fillMinecraftAssets";
+
+    private static final int BATCH_SIZE = 256;
+
+    public FillMinecraftAssets() {
+        setDescription("Places the Minecraft assets from the Placitum artifact store into the cache of the loader toolchain");
+        setGroup("placitum");
+        doNotTrackState("Fills a cache outside of the build, which the loader toolchain validates itself");
+    }
+
+    @Internal
+    public abstract Property<MinecraftArtifactStore> getStore();
+
+    @Input
+    public abstract Property<String> getMinecraftVersion();
+
+    @Input
+    public abstract Property<MinecraftCacheLayout.Toolchain> getToolchain();
+
+    @Internal
+    public abstract DirectoryProperty getGradleUserHome();
+
+    @Inject
+    protected abstract WorkerExecutor getWorkerExecutor();
+
+    @TaskAction
+    public void fill() {
+        final MinecraftArtifactStore store = getStore().get();
+        final MinecraftVersion version = store.resolve(getMinecraftVersion().get());
+        if (version == null) {
+            getLogger().info("Minecraft {} is not stored and can not be fetched, leaving its assets to the loader toolchain.", getMinecraftVersion().get());
+            return;
+        }
+
+        final MinecraftCacheLayout layout = getToolchain().get().layout(getGradleUserHome().get().getAsFile(), version.id());
+        store.place(version.assetIndex(), layout.assetIndexes().resolve(version.assetIndexId() + ".json"));
+
+        final List<String> hashes = store.resolveAssets(version).objects().values().stream()
+            .map(MinecraftVersion.Download::sha1)
+            .distinct()
+            .filter(hash -> !layout.assetObject(hash).toFile().isFile())
+            .toList();
+
+        final WorkQueue queue = getWorkerExecutor().noIsolation();
+        for (int start = 0; start < hashes.size(); start += BATCH_SIZE) {
+            final List<String> batch = new ArrayList<>(hashes.subList(start, Math.min(start + BATCH_SIZE, hashes.size())));
+            queue.submit(PlaceMinecraftAssets.class, parameters -> {
+                parameters.getStore().set(getStore());
+                parameters.getHashes().set(batch);
+                parameters.getAssetObjects().set(layout.assetObjects().toFile());
+            });
+        }
+        queue.await();
+
+        getLogger().info("Placed {} Minecraft asset objects.", hashes.size());
+    }
+}
@@ -0,0 +1,88 @@
+package com.communi.suggestu.placitum.tasks;
+
+import com.communi.suggestu.placitum.interpolation.InterpolationTemplate;
+import com.communi.suggestu.placitum.interpolation.ResourceClassifier;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Interpolates a single resource file, and records the keys it references.
+ * Files that are not classified as templates are copied as is. The compiled template is stored, and reused as long
+ * as the file itself does not change.
+ */
+public abstract class InterpolateResource implements WorkAction<InterpolateResource.Parameters> {
+
+    public interface Parameters extends WorkParameters {
+
+        RegularFileProperty getSource();
+
+        RegularFileProperty getTarget();
+
+        RegularFileProperty getReferences();
+
+        RegularFileProperty getTemplate();
+
+        Property<Boolean> getRecompile();
+
+        MapProperty<String, String> getModel();
+
+        Property<String> getCharset();
+
+        Property<Boolean> getForceInterpolation();
+    }
+
+    @Override
+    public void execute() {
+        final File source = getParameters().getSource().get().getAsFile();
+        final Path target = getParameters().getTarget().get().getAsFile().toPath();
+        final Path references = getParameters().getReferences().get().getAsFile().toPath();
+        final Path compiled = getParameters().getTemplate().get().getAsFile().toPath();
+        final Charset charset = Charset.forName(getParameters().getCharset().get());
+
+        try {
+            Files.createDirectories(target.getParent());
+            Files.createDirectories(references.getParent());
+
+            InterpolationTemplate template = null;
+            if (!getParameters().getRecompile().get() && Files.isRegularFile(compiled)) {
+                template = InterpolationTemplate.read(compiled);
+            } else if (getParameters().getRecompile().get() || !Files.isRegularFile(references)) {
+                Files.deleteIfExists(compiled);
+            } else if (Files.readAllLines(references).isEmpty()) {
+                // The file was not a template the last time it was processed, and it did not change since.
+                Files.copy(source.toPath(), target, StandardCopyOption.REPLACE_EXISTING);
+                return;
+            }
+
+            if (template == null) {
+                final byte[] content = Files.readAllBytes(source.toPath());
+                if (!getParameters().getForceInterpolation().get() && !ResourceClassifier.classify(content, charset).isInterpolated()) {
+                    Files.write(target, content);
+                    Files.write(references, List.of());
+                    return;
+                }
+
+                template = InterpolationTemplate.compile(new String(content, charset), source.getPath());
+                Files.createDirectories(compiled.getParent());
+                template.write(compiled);
+            }
+
+            Files.writeString(target, template.render(getParameters().getModel().get(), source.getPath()), charset);
+            Files.write(references, template.references());
+        } catch (IOException e) {
+            throw new GradleException("Failed to interpolate resource: %s".formatted(source), e);
+        }
+    }
+}
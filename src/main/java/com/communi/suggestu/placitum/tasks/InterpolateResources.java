@@ -0,0 +1,216 @@
+package com.communi.suggestu.placitum.tasks;
+
+import com.communi.suggestu.placitum.interpolation.InterpolationModel;
+import com.communi.suggestu.placitum.interpolation.InterpolationTemplate;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.file.FileTreeElement;
+import org.gradle.api.file.FileType;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.specs.Spec;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.IgnoreEmptyDirectories;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.LocalState;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.SkipWhenEmpty;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.api.tasks.util.PatternSet;
+import org.gradle.work.ChangeType;
+import org.gradle.work.FileChange;
+import org.gradle.work.Incremental;
+import org.gradle.work.InputChanges;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Interpolates resource files with the values of the interpolation model.
+ * <p>
+ * The task is incremental: it records which keys every file references, so that a changed file, or a changed value,
+ * only causes the files that are affected by it to be interpolated again. The compiled templates are kept as well,
+ * so a changed value does not cause the unchanged templates to be read and parsed again. Files are interpolated in parallel.
+ * Files whose content is not a template, like binary files, are copied as is.
+ */
+@CacheableTask
+public abstract class InterpolateResources extends DefaultTask {
+
+    private static final String MODEL_SNAPSHOT = "model.properties";
+    private static final String REFERENCES_DIRECTORY = "references";
+    private static final String TEMPLATES_DIRECTORY = "templates";
+
+    @Incremental
+    @InputFiles
+    @SkipWhenEmpty
+    @IgnoreEmptyDirectories
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract ConfigurableFileCollection getSource();
+
+    @Incremental
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getModel();
+
+    @Input
+    public abstract Property<String> getFilteringCharset();
+
+    /**
+     * @return Patterns of files that are always interpolated, regardless of their content.
+     * The source is expected to contain the files matching these patterns, even when they also match an exclude pattern.
+     */
+    @Input
+    public abstract ListProperty<String> getIncludes();
+
+    @OutputDirectory
+    public abstract DirectoryProperty getDestinationDirectory();
+
+    @LocalState
+    public abstract DirectoryProperty getStateDirectory();
+
+    @Inject
+    protected abstract WorkerExecutor getWorkerExecutor();
+
+    @Inject
+    protected abstract FileSystemOperations getFileSystemOperations();
+
+    public InterpolateResources() {
+        getFilteringCharset().convention("UTF-8");
+    }
+
+    @TaskAction
+    public void interpolate(final InputChanges changes) {
+        final Path destination = getDestinationDirectory().get().getAsFile().toPath();
+        final Path state = getStateDirectory().get().getAsFile().toPath();
+        final Path snapshot = state.resolve(MODEL_SNAPSHOT);
+        final Map<String, String> model = InterpolationModel.read(getModel().get().getAsFile().toPath());
+        final Map<String, File> sources = new LinkedHashMap<>();
+        final Set<String> forced = new HashSet<>();
+        collectSources(sources, forced);
+
+        final Set<String> outdated = new HashSet<>();
+        final Set<String> changed = new HashSet<>();
+        if (!changes.isIncremental()) {
+            deleteRecursively(destination);
+            deleteRecursively(state);
+            outdated.addAll(sources.keySet());
+            changed.addAll(sources.keySet());
+        } else {
+            for (final FileChange change : changes.getFileChanges(getSource())) {
+                if (change.getFileType() == FileType.DIRECTORY) {
+                    continue;
+                }
+
+                if (change.getChangeType() == ChangeType.REMOVED) {
+                    delete(destination.resolve(change.getNormalizedPath()));
+                    delete(getReferencesFile(state, change.getNormalizedPath()));
+                    delete(getTemplateFile(state, change.getNormalizedPath()));
+                } else {
+                    outdated.add(change.getNormalizedPath());
+                    changed.add(change.getNormalizedPath());
+                }
+            }
+
+            if (changes.getFileChanges(getModel()).iterator().hasNext()) {
+                final Set<String> changedKeys = Files.isRegularFile(snapshot)
+                        ? InterpolationModel.difference(InterpolationModel.read(snapshot), model)
+                        : null;
+
+                sources.keySet().stream()
+                        .filter(path -> isAffected(state, path, changedKeys))
+                        .forEach(outdated::add);
+            }
+        }
+
+        // The snapshot is only written once all files are interpolated, so that a failure causes a full rerun.
+        delete(snapshot);
+
+        final WorkQueue queue = getWorkerExecutor().noIsolation();
+        for (final String path : outdated) {
+            final File source = sources.get(path);
+            queue.submit(InterpolateResource.class, parameters -> {
+                parameters.getSource().set(source);
+                parameters.getTarget().set(destination.resolve(path).toFile());
+                parameters.getReferences().set(getReferencesFile(state, path).toFile());
+                parameters.getTemplate().set(getTemplateFile(state, path).toFile());
+                parameters.getRecompile().set(changed.contains(path));
+                parameters.getModel().set(model);
+                parameters.getCharset().set(getFilteringCharset());
+                parameters.getForceInterpolation().set(forced.contains(path));
+            });
+        }
+        queue.await();
+
+        InterpolationModel.write(model, snapshot);
+        getLogger().info("Interpolated {} of {} resource files.", outdated.size(), sources.size());
+    }
+
+    private void collectSources(final Map<String, File> sources, final Set<String> forced) {
+        final List<String> includePatterns = getIncludes().get();
+        final Spec<FileTreeElement> includes = new PatternSet().include(includePatterns).getAsSpec();
+        getSource().getAsFileTree().visit(details -> {
+            if (details.isDirectory()) {
+                return;
+            }
+
+            final String path = details.getRelativePath().getPathString();
+            sources.putIfAbsent(path, details.getFile());
+            if (!includePatterns.isEmpty() && includes.isSatisfiedBy(details)) {
+                forced.add(path);
+            }
+        });
+    }
+
+    private static boolean isAffected(final Path state, final String path, final Set<String> changedKeys) {
+        final Path references = getReferencesFile(state, path);
+        if (changedKeys == null || !Files.isRegularFile(references)) {
+            return true;
+        }
+
+        try {
+            final List<String> keys = Files.readAllLines(references);
+            return keys.contains(InterpolationTemplate.ALL_REFERENCES) || !Collections.disjoint(keys, changedKeys);
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    private static Path getReferencesFile(final Path state, final String path) {
+        return state.resolve(REFERENCES_DIRECTORY).resolve(path + ".keys");
+    }
+
+    private static Path getTemplateFile(final Path state, final String path) {
+        return state.resolve(TEMPLATES_DIRECTORY).resolve(path + ".template");
+    }
+
+    private static void delete(final Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new GradleException("Failed to delete: %s".formatted(path), e);
+        }
+    }
+
+    private void deleteRecursively(final Path path) {
+        getFileSystemOperations().delete(spec -> spec.delete(path.toFile()));
+    }
+}
@@ -0,0 +1,70 @@
+package com.communi.suggestu.placitum.tasks;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.work.DisableCachingByDefault;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Injects a {@code processResources} before run task into the IDEA run configurations of a project,
+ * so that interpolated resources are available when running from within IDEA.
+ */
+@DisableCachingByDefault(because = "Modifies the IDEA run configurations in place")
+public abstract class ModifyIdeaRunConfigurations extends DefaultTask {
+
+    /**
+     * @return The directory which contains the IDEA run configurations, by default {@code .idea/runConfigurations}.
+     */
+    @Internal
+    public abstract DirectoryProperty getRunConfigurationsDirectory();
+
+    /**
+     * @return The path of the project directory, relative to the root directory of the build.
+     */
+    @Input
+    public abstract Property<String> getRelativeProjectDirectory();
+
+    @TaskAction
+    public void modify() {
+        final File[] runConfigurations = getRunConfigurationsDirectory().get().getAsFile().listFiles();
+        if (runConfigurations == null) {
+            return;
+        }
+
+        final String relativeProjectDirectory = getRelativeProjectDirectory().get();
+        for (File file : runConfigurations) {
+            if (!file.getName().endsWith(".xml")) {
+                continue;
+            }
+
+            try {
+                final String content = Files.readString(file.toPath());
+                final String targetContent = "<option name=\"Gradle.BeforeRunTask\" enabled=\"true\" tasks=\"processResources\" externalProjectPath=\"$PROJECT_DIR$/%s\" vmOptions=\"\" scriptParameters=\"-PrunsWithIdea=true\" />".formatted(relativeProjectDirectory);
+                final String alternativeTarget = "<option enabled=\"true\" externalProjectPath=\"$PROJECT_DIR$/%s\" name=\"Gradle.BeforeRunTask\" scriptParameters=\"-PrunsWithIdea=true\" tasks=\"processResources\" vmOptions=\"\"/>".formatted(relativeProjectDirectory);
+                final String beforeMarker = "</method>";
+
+                if (content.contains(targetContent) || content.contains(alternativeTarget)) {
+                    continue;
+                }
+
+                final String[] contentParts = content.split(beforeMarker);
+                if (contentParts.length != 2) {
+                    continue;
+                }
+
+                final String newContent = "%s%s%s%s".formatted(contentParts[0], targetContent, beforeMarker, contentParts[1]);
+                Files.writeString(file.toPath(), newContent);
+            } catch (IOException e) {
+                throw new GradleException("Failed to read or write file: %s".formatted(file), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.communi.suggestu.placitum.tasks;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.artifacts.result.DependencyResult;
+import org.gradle.api.artifacts.result.ResolvedArtifactResult;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.artifacts.result.ResolvedDependencyResult;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.SetProperty;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.GregorianCalendar;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Packages the Minecraft artifact produced by a NeoForm runtime into a jar that other projects can compile against
+ * without running the NeoForm runtime themselves. Only the Minecraft classes are packaged, the libraries Minecraft
+ * depends on are published as dependencies of the packaged runtime instead.
+ */
+public abstract class PackageNeoFormRuntime extends DefaultTask {
+
+    /**
+     * The timestamp of every entry in the packaged jar, the same timestamp Gradle uses for reproducible archives.
+     */
+    private static final long CONSTANT_TIME_FOR_ZIP_ENTRIES = new GregorianCalendar(1980, GregorianCalendar.FEBRUARY, 1, 0, 0, 0).getTimeInMillis();
+
+    @Input
+    public abstract Property<ResolvedComponentResult> getRootComponent();
+
+    @Internal
+    public abstract SetProperty<ResolvedArtifactResult> getArtifacts();
+
+    @InputFiles
+    @PathSensitive(PathSensitivity.NAME_ONLY)
+    public abstract ConfigurableFileCollection getArtifactFiles();
+
+    /**
+     * @return The name of the module the NeoForm runtime resolves to.
+     */
+    @Input
+    public abstract Property<String> getRuntimeModule();
+
+    @OutputFile
+    public abstract RegularFileProperty getOutputFile();
+
+    @TaskAction
+    public void packageRuntime() {
+        final ComponentIdentifier runtime = findRuntime(getRootComponent().get(), getRuntimeModule().get()).getId();
+
+        final List<File> jars = new ArrayList<>();
+        for (final ResolvedArtifactResult artifact : getArtifacts().get()) {
+            if (artifact.getId().getComponentIdentifier().equals(runtime) && artifact.getFile().getName().endsWith(".jar")) {
+                jars.add(artifact.getFile());
+            }
+        }
+
+        final File output = getOutputFile().get().getAsFile();
+        try (OutputStream stream = Files.newOutputStream(output.toPath());
+             ZipOutputStream zip = new ZipOutputStream(stream)) {
+            final Set<String> written = new HashSet<>();
+            for (final File jar : jars) {
+                copyEntries(jar, zip, written);
+            }
+        } catch (IOException e) {
+            throw new GradleException("Failed to package the NeoForm runtime into: " + output, e);
+        }
+    }
+
+    /**
+     * Finds the component of the NeoForm runtime in a resolved classpath.
+     *
+     * @param root          The root of the resolved classpath.
+     * @param runtimeModule The name of the module the NeoForm runtime resolves to.
+     * @return The component of the runtime.
+     */
+    public static ResolvedComponentResult findRuntime(final ResolvedComponentResult root, final String runtimeModule) {
+        final Set<ComponentIdentifier> seen = new HashSet<>();
+        final Deque<ResolvedComponentResult> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            final ResolvedComponentResult component = queue.poll();
+            if (!seen.add(component.getId())) {
+                continue;
+            }
+
+            if (component.getId() instanceof ModuleComponentIdentifier module && module.getModule().equals(runtimeModule)) {
+                return component;
+            }
+
+            for (final DependencyResult dependency : component.getDependencies()) {
+                if (dependency instanceof ResolvedDependencyResult resolved) {
+                    queue.add(resolved.getSelected());
+                }
+            }
+        }
+
+        throw new GradleException("The NeoForm runtime %s is not part of the resolved classpath".formatted(runtimeModule));
+    }
+
+    private static void copyEntries(final File jar, final ZipOutputStream zip, final Set<String> written) throws IOException {
+        try (ZipFile file = new ZipFile(jar)) {
+            final var entries = file.entries();
+            while (entries.hasMoreElements()) {
+                final ZipEntry entry = entries.nextElement();
+                if (entry.isDirectory() || isExcluded(entry.getName()) || !written.add(entry.getName())) {
+                    continue;
+                }
+
+                final ZipEntry copy = new ZipEntry(entry.getName());
+                copy.setTime(CONSTANT_TIME_FOR_ZIP_ENTRIES);
+                zip.putNextEntry(copy);
+                try (InputStream input = file.getInputStream(entry)) {
+                    input.transferTo(zip);
+                }
+                zip.closeEntry();
+            }
+        }
+    }
+
+    /**
+     * Signatures of the runtime jars are invalid in the packaged jar, and it is not a named module.
+     */
+    private static boolean isExcluded(final String name) {
+        if (name.equals("module-info.class") || name.endsWith("/module-info.class")) {
+            return true;
+        }
+
+        if (!name.startsWith("META-INF/") || name.indexOf('/', "META-INF/".length()) != -1) {
+            return false;
+        }
+
+        return name.endsWith(".SF") || name.endsWith(".RSA") || name.endsWith(".DSA") || name.endsWith(".EC");
+    }
+}
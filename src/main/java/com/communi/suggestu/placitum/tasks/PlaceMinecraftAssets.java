@@ -0,0 +1,34 @@
+package com.communi.suggestu.placitum.tasks;
+
+import com.communi.suggestu.placitum.minecraft.MinecraftArtifactStore;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+
+import java.nio.file.Path;
+
+/**
+ * Places a batch of Minecraft asset objects from the artifact store into the cache of a loader toolchain.
+ */
+public abstract class PlaceMinecraftAssets implements WorkAction<PlaceMinecraftAssets.Parameters> {
+
+    public interface Parameters extends WorkParameters {
+
+        Property<MinecraftArtifactStore> getStore();
+
+        ListProperty<String> getHashes();
+
+        DirectoryProperty getAssetObjects();
+    }
+
+    @Override
+    public void execute() {
+        final MinecraftArtifactStore store = getParameters().getStore().get();
+        final Path objects = getParameters().getAssetObjects().get().getAsFile().toPath();
+        for (final String hash : getParameters().getHashes().get()) {
+            store.place(MinecraftArtifactStore.asset(hash), objects.resolve(hash.substring(0, 2)).resolve(hash));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.communi.suggestu.placitum.tasks;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+/**
+ * Resolves every configuration of a project for which Placitum activates dependency locking.
+ * When locks are written this updates the lockfile of the project, otherwise it verifies the resolution against it.
+ */
+public abstract class ResolveLockedDependencies extends DefaultTask {
+
+    public static final String NAME = "placitumLockProject";
+
+    public ResolveLockedDependencies() {
+        setDescription("Resolves all locked configurations of the current project");
+        setGroup("placitum");
+        doNotTrackState("Writes the lockfile of the project as a side effect of resolution");
+    }
+
+    @InputFiles
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract ConfigurableFileCollection getLockedFiles();
+
+    @TaskAction
+    public void resolve() {
+        getLogger().info("Resolved {} locked files", getLockedFiles().getFiles().size());
+    }
+}
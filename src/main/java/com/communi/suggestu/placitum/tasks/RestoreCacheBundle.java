@@ -0,0 +1,81 @@
+package com.communi.suggestu.placitum.tasks;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Restores an archive created by {@link ExportCacheBundle} into the gradle user home.
+ * The archive is verified against the hash in its name, and files which already exist are left untouched.
+ */
+public abstract class RestoreCacheBundle extends DefaultTask {
+
+    public static final String NAME = "placitumRestoreCache";
+    public static final String BUNDLE_PROPERTY = "placitum.cache.bundle";
+
+    public RestoreCacheBundle() {
+        setDescription("Restores a cache archive exported by placitumExportCache, pass it with -P" + BUNDLE_PROPERTY + "=<archive>");
+        setGroup("placitum");
+        doNotTrackState("The caches are not part of the build");
+    }
+
+    @Internal
+    public abstract RegularFileProperty getBundle();
+
+    @Internal
+    public abstract DirectoryProperty getGradleUserHome();
+
+    @TaskAction
+    public void restore() {
+        if (!getBundle().isPresent()) {
+            throw new GradleException("No cache archive given, pass it with -P%s=<archive>".formatted(BUNDLE_PROPERTY));
+        }
+
+        final Path bundle = getBundle().get().getAsFile().toPath();
+        final Path gradleUserHome = getGradleUserHome().get().getAsFile().toPath().toAbsolutePath().normalize();
+
+        try {
+            final String name = bundle.getFileName().toString();
+            if (name.startsWith(ExportCacheBundle.BUNDLE_PREFIX) && name.endsWith(".zip")) {
+                final String expected = name.substring(ExportCacheBundle.BUNDLE_PREFIX.length(), name.length() - ".zip".length());
+                final String actual = ExportCacheBundle.hash(bundle);
+                if (!expected.equals(actual)) {
+                    throw new GradleException("The cache archive %s is corrupt, its hash is %s".formatted(bundle, actual));
+                }
+            }
+
+            int restored = 0;
+            try (InputStream input = Files.newInputStream(bundle);
+                 ZipInputStream zip = new ZipInputStream(input)) {
+                ZipEntry entry;
+                while ((entry = zip.getNextEntry()) != null) {
+                    final Path target = gradleUserHome.resolve(entry.getName()).normalize();
+                    if (!target.startsWith(gradleUserHome)) {
+                        throw new GradleException("The cache archive %s contains an entry outside of the gradle user home: %s".formatted(bundle, entry.getName()));
+                    }
+
+                    if (entry.isDirectory() || Files.exists(target)) {
+                        continue;
+                    }
+
+                    Files.createDirectories(target.getParent());
+                    Files.copy(zip, target);
+                    restored++;
+                }
+            }
+            getLogger().lifecycle("Restored {} cached files from: {}", restored, bundle);
+        } catch (IOException e) {
+            throw new GradleException("Failed to restore the cache archive: " + bundle, e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.communi.suggestu.placitum.tasks;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+/**
+ * Resolves the classpaths of a project, which sets up the Minecraft artifacts of its loader toolchain and downloads
+ * all its dependencies, so that later builds find them in the caches.
+ */
+public abstract class WarmupProject extends DefaultTask {
+
+    public static final String NAME = "placitumWarmupProject";
+
+    public WarmupProject() {
+        setDescription("Sets up the loader toolchain and resolves all dependencies of the current project");
+        setGroup("placitum");
+    }
+
+    @InputFiles
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract ConfigurableFileCollection getClasspath();
+
+    @TaskAction
+    public void warmup() {
+        getLogger().info("Resolved {} files", getClasspath().getFiles().size());
+    }
+}
@@ -0,0 +1,29 @@
+package com.communi.suggestu.placitum.tasks;
+
+import com.communi.suggestu.placitum.interpolation.InterpolationModel;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+
+/**
+ * Writes the flattened interpolation model of a project to disk, so that resource interpolation can track changes
+ * to individual values as file changes.
+ */
+@CacheableTask
+public abstract class WriteInterpolationModel extends DefaultTask {
+
+    @Input
+    public abstract MapProperty<String, Object> getInterpolation();
+
+    @OutputFile
+    public abstract RegularFileProperty getModelFile();
+
+    @TaskAction
+    public void write() {
+        InterpolationModel.write(InterpolationModel.flatten(getInterpolation().get()), getModelFile().get().getAsFile().toPath());
+    }
+}
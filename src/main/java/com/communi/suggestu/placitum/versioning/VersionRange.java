@@ -0,0 +1,265 @@
+package com.communi.suggestu.placitum.versioning;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.gradle.api.InvalidUserDataException;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A parsed version range, which can be rendered in both maven and npm syntax.
+ * <p>
+ * Supported inputs are the {@code +} wildcard, prefix ranges like {@code 1.2.+}, exact versions, and a single maven
+ * style range like {@code [1.0,2.0)}. Parsed ranges are cached, and shared between all projects of a build.
+ *
+ * @param kind         The kind of the range.
+ * @param min          The inclusive lower bound, {@code null} for a wildcard.
+ * @param max          The upper bound, {@code null} or blank when the range is unbounded.
+ * @param maxInclusive Whether the upper bound is inclusive.
+ */
+public record VersionRange(Kind kind, @Nullable String min, @Nullable String max, boolean maxInclusive) {
+
+    private static final int CACHE_SIZE = 1024;
+
+    private static final Cache<String, VersionRange> RANGES = CacheBuilder.newBuilder()
+            .maximumSize(CACHE_SIZE)
+            .build();
+
+    private static final Cache<String, String> PATCH_RANGES = CacheBuilder.newBuilder()
+            .maximumSize(CACHE_SIZE)
+            .build();
+
+    public enum Kind {
+        /**
+         * Matches any version.
+         */
+        ANY,
+        /**
+         * Matches a single version.
+         */
+        EXACT,
+        /**
+         * Matches all versions between a lower and an optional upper bound.
+         */
+        BOUNDED
+    }
+
+    /**
+     * Parses a version range, or returns the cached result of an earlier parse.
+     *
+     * @param range The version range.
+     * @return The parsed range.
+     * @throws InvalidUserDataException When the range is invalid, or consists of multiple disjoint ranges.
+     */
+    public static VersionRange parse(final String range) {
+        final VersionRange cached = RANGES.getIfPresent(range);
+        if (cached != null) {
+            return cached;
+        }
+
+        final VersionRange parsed = doParse(range);
+        RANGES.put(range, parsed);
+        return parsed;
+    }
+
+    /**
+     * Creates the range that matches a version and all later patch versions of it, or only the version itself when
+     * it is a pre-release.
+     *
+     * @param version The version.
+     * @return The maven range, for example {@code [1.2.3, 1.2.4)}.
+     */
+    public static String patchRange(final String version) {
+        final String cached = PATCH_RANGES.getIfPresent(version);
+        if (cached != null) {
+            return cached;
+        }
+
+        final String range = doPatchRange(version);
+        PATCH_RANGES.put(version, range);
+        return range;
+    }
+
+    /**
+     * Renders the range.
+     *
+     * @param npmCompatible {@code true} for npm syntax, {@code false} for maven syntax.
+     * @return The rendered range.
+     */
+    public String render(final boolean npmCompatible) {
+        if (kind == Kind.ANY) {
+            //Wildcard matches against anything recommending the + version.
+            return npmCompatible ? "*" : "+";
+        }
+
+        final boolean unbounded = max == null || max.isBlank();
+        if (unbounded && !maxInclusive) {
+            return npmCompatible ? ">=%s".formatted(min) : "[%s,)".formatted(min);
+        }
+
+        if (unbounded || min.equals(max)) {
+            return npmCompatible ? "=%s".formatted(min) : "[%s]".formatted(min);
+        }
+
+        if (!maxInclusive) {
+            return npmCompatible ? ">=%s <%s".formatted(min, max) : "[%s,%s)".formatted(min, max);
+        }
+
+        return npmCompatible ? ">=%s <=%s".formatted(min, max) : "[%s,%s]".formatted(min, max);
+    }
+
+    private static VersionRange doParse(final String range) {
+        if (range.equals("+")) {
+            return new VersionRange(Kind.ANY, null, null, false);
+        }
+
+        if (countRanges(range) > 1) {
+            throw new InvalidUserDataException("Multiple none continuous version ranges are not supported");
+        }
+
+        if (range.endsWith(".+")) {
+            //This version ends with .+, we need to remove it to get the lower bound
+            //Then extract the last section and increment it by one to get the max
+            //The result is then a max exclusive range.
+            final String min = range.substring(0, range.length() - 2);
+            final int lastSeparator = min.lastIndexOf('.');
+            final int nextLastSection = Integer.parseInt(min.substring(lastSeparator + 1)) + 1;
+            return new VersionRange(Kind.BOUNDED, min, min.substring(0, lastSeparator + 1) + nextLastSection, false);
+        }
+
+        if (!isRangeSyntax(range)) {
+            return new VersionRange(Kind.EXACT, range, range, true);
+        }
+
+        if (scanRange(range, 0) == range.length()) {
+            return parseRange(range);
+        }
+
+        throw new InvalidUserDataException("Invalid version range: %s".formatted(range));
+    }
+
+    /**
+     * Counts the ranges anywhere in the input, regardless of what separates them.
+     */
+    private static int countRanges(final String range) {
+        int count = 0;
+        int index = 0;
+        while (index < range.length()) {
+            final int end = scanRange(range, index);
+            if (end == -1) {
+                index++;
+            } else {
+                count++;
+                index = end;
+            }
+        }
+        return count;
+    }
+
+    private static boolean isRangeSyntax(final String range) {
+        for (int i = 0; i < range.length(); i++) {
+            switch (range.charAt(i)) {
+                case ',', '[', ']', '(', ')' -> {
+                    return true;
+                }
+                default -> {
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Scans a single range starting at the given index.
+     *
+     * @return The index directly after the range, or {@code -1} if there is no valid range at the given index.
+     */
+    private static int scanRange(final String range, final int start) {
+        if (start >= range.length() || (range.charAt(start) != '[' && range.charAt(start) != '(')) {
+            return -1;
+        }
+
+        int index = scanVersion(range, start + 1);
+        if (index == start + 1) {
+            return -1;
+        }
+
+        if (index < range.length() && range.charAt(index) == ',') {
+            index++;
+            if (index < range.length() && range.charAt(index) == ' ') {
+                index++;
+            }
+            index = scanVersion(range, index);
+        }
+
+        if (index >= range.length() || (range.charAt(index) != ']' && range.charAt(index) != ')')) {
+            return -1;
+        }
+
+        return index + 1;
+    }
+
+    private static int scanVersion(final String range, final int start) {
+        int index = start;
+        while (index < range.length() && isVersionCharacter(range.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static boolean isVersionCharacter(final char character) {
+        return (character >= '0' && character <= '9')
+                || (character >= 'a' && character <= 'z')
+                || (character >= 'A' && character <= 'Z')
+                || character == '.'
+                || character == '-'
+                || character == '+';
+    }
+
+    private static VersionRange parseRange(final String range) {
+        final int minEnd = scanVersion(range, 1);
+        final String min = range.substring(1, minEnd);
+
+        String max = null;
+        if (range.charAt(minEnd) == ',') {
+            final int maxStart = range.charAt(minEnd + 1) == ' ' ? minEnd + 2 : minEnd + 1;
+            max = range.substring(maxStart, scanVersion(range, maxStart));
+        }
+
+        return new VersionRange(Kind.BOUNDED, min, max, range.charAt(range.length() - 1) == ']');
+    }
+
+    private static String doPatchRange(final String version) {
+        if (version.contains("-"))
+            return "[%s]".formatted(version);
+
+        final int lastSeparator = version.lastIndexOf('.');
+        if (lastSeparator == -1 || version.indexOf('.') == lastSeparator) {
+            return "[%s, %s)".formatted(version, normalize(version));
+        }
+
+        final String prefix = version.substring(0, lastSeparator);
+        if (prefix.indexOf('.') != prefix.lastIndexOf('.')) {
+            return "[%s, %s)".formatted(version, normalize(version));
+        }
+
+        return "[%s, %s.%d)".formatted(version, normalize(prefix), Integer.parseInt(version.substring(lastSeparator + 1)) + 1);
+    }
+
+    /**
+     * Normalizes the numeric sections of a version, the same way parsing and printing them as integers does.
+     */
+    private static String normalize(final String version) {
+        final StringBuilder builder = new StringBuilder(version.length());
+        int start = 0;
+        while (true) {
+            final int separator = version.indexOf('.', start);
+            final int end = separator == -1 ? version.length() : separator;
+            builder.append(Integer.parseInt(version.substring(start, end)));
+            if (separator == -1) {
+                return builder.toString();
+            }
+            builder.append('.');
+            start = separator + 1;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.communi.suggestu.placitum.warmup;
+
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+/**
+ * Caps how many projects set up their loader toolchain and resolve their dependencies at the same time during a warmup.
+ * The cap is the maximum amount of parallel usages of this service.
+ * <p>
+ * The cap only matters with {@code --parallel}: the warmup tasks resolve project configurations, which Gradle only
+ * allows on the thread of the task's own project, so projects are only warmed up concurrently when Gradle executes
+ * projects in parallel.
+ */
+public abstract class WarmupLimiter implements BuildService<BuildServiceParameters.None> {
+
+    public static final String NAME = "placitumWarmupLimiter";
+    public static final String PARALLELISM_PROPERTY = "placitum.warmup.parallelism";
+}
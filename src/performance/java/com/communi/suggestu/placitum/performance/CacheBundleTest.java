@@ -0,0 +1,59 @@
+package com.communi.suggestu.placitum.performance;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the cache archive exported after a build holds the caches of both loader toolchains, by restoring it
+ * into an empty gradle user home.
+ */
+class CacheBundleTest {
+
+    private static final List<String> RESTORED_FILES = List.of(
+            "caches/minecraft/launcher_metadata.json",
+            "caches/minecraft/versions/%1$s/metadata.json",
+            "caches/minecraft/versions/%1$s/client.jar",
+            "caches/fabric-loom/%1$s/minecraft-info.json",
+            "caches/fabric-loom/%1$s/minecraft-client.jar"
+    );
+
+    @Test
+    void exportedCachesRestoreIntoAnEmptyUserHome() throws IOException {
+        final StandInEnvironment environment = StandInEnvironment.get();
+        final Path root = environment.emptyDirectory("builds/cache-bundle");
+        new SyntheticBuild("cache-bundle", 1, 0, 0).generate(root);
+
+        // The restore runs in the same build, so it is pointed at an empty directory instead of the gradle user home.
+        final Path restoredHome = root.resolve("restored-home");
+        Files.writeString(root.resolve("build.gradle"), """
+                tasks.named('placitumRestoreCache') {
+                    gradleUserHome = file('restored-home')
+                }
+                """);
+
+        environment.runner(root, List.of("help")).build();
+        environment.runner(root, List.of("placitumExportCache")).build();
+
+        final Path bundle;
+        try (Stream<Path> bundles = Files.list(root.resolve("build/placitum/cache"))) {
+            final List<Path> found = bundles.filter(path -> path.getFileName().toString().endsWith(".zip")).toList();
+            assertEquals(1, found.size(), () -> "Expected a single cache archive, found: %s".formatted(found));
+            bundle = found.get(0);
+        }
+
+        environment.runner(root, List.of("placitumRestoreCache", "-Pplacitum.cache.bundle=%s".formatted(bundle))).build();
+
+        for (final String file : RESTORED_FILES) {
+            final Path restored = restoredHome.resolve(file.formatted(SyntheticBuild.MINECRAFT_VERSION));
+            assertTrue(Files.isRegularFile(restored), () -> "The cache archive did not restore: %s".formatted(restored));
+        }
+    }
+}
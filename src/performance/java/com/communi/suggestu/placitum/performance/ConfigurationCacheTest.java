@@ -0,0 +1,32 @@
+package com.communi.suggestu.placitum.performance;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that a multi loader build can store its configuration in the configuration cache, and reuses it on the next
+ * run instead of configuring the build again.
+ */
+class ConfigurationCacheTest {
+
+    private static final List<String> ARGUMENTS = List.of("help", "--configuration-cache", "--configuration-cache-problems=fail");
+
+    @Test
+    void multiLoaderBuildReusesTheConfigurationCache() throws IOException {
+        final StandInEnvironment environment = StandInEnvironment.get();
+        final Path root = environment.emptyDirectory("builds/configuration-cache");
+        new SyntheticBuild("configuration-cache", 2, 2, 1).generate(root);
+
+        final BuildResult first = environment.runner(root, ARGUMENTS).build();
+        assertTrue(first.getOutput().contains("Configuration cache entry stored."), () -> "The first run did not store a configuration cache entry:%n%s".formatted(first.getOutput()));
+
+        final BuildResult second = environment.runner(root, ARGUMENTS).build();
+        assertTrue(second.getOutput().contains("Reusing configuration cache."), () -> "The second run did not reuse the configuration cache:%n%s".formatted(second.getOutput()));
+    }
+}
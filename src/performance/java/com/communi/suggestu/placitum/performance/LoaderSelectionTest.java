@@ -0,0 +1,57 @@
+package com.communi.suggestu.placitum.performance;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that selecting a single loader leaves the projects of the other loaders out of the build, so that their
+ * build scripts, which use the DSL of their loader, are never evaluated.
+ */
+class LoaderSelectionTest {
+
+    @Test
+    void unselectedLoaderProjectsAreNotIncluded() throws IOException {
+        final StandInEnvironment environment = StandInEnvironment.get();
+        final Path root = environment.emptyDirectory("builds/loader-selection");
+        new SyntheticBuild("loader-selection", 1, 0, 0).generate(root);
+
+        for (final String project : List.of("fabric", "modern-fabric")) {
+            Files.writeString(root.resolve(project).resolve("build.gradle"), """
+                    platform {
+                        minecraft {
+                            version = '%s'
+                        }
+                    }
+
+                    loom {
+                        runs {
+                            client {
+                                ideConfigGenerated true
+                            }
+                        }
+                    }
+                    """.formatted(SyntheticBuild.MINECRAFT_VERSION));
+        }
+        Files.writeString(root.resolve("neoforge/build.gradle"), """
+                runs {
+                    configureEach {
+                        arguments.add('--selected')
+                    }
+                }
+                """);
+
+        final BuildResult result = environment.runner(root, List.of("projects", "placitumWarmup", "--dry-run", "-Pplacitum.loaders=neoforge")).build();
+        final String output = result.getOutput();
+        assertTrue(output.contains("':neoforge'"), () -> "The selected neoforge project is not part of the build:%n%s".formatted(output));
+        assertFalse(output.contains("':fabric'") || output.contains("':modern-fabric'"), () -> "An unselected fabric project is part of the build:%n%s".formatted(output));
+        assertFalse(output.contains(":fabric:") || output.contains(":modern-fabric:"), () -> "The warmup depends on a task of an unselected fabric project:%n%s".formatted(output));
+    }
+}
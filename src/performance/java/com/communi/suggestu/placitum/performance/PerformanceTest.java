@@ -0,0 +1,116 @@
+package com.communi.suggestu.placitum.performance;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the configuration time, and the peak heap usage during configuration, of synthetic builds of different
+ * sizes, with and without the configuration cache, and fails when a scenario exceeds its threshold.
+ */
+class PerformanceTest {
+
+    private static final int WARMUP_RUNS = 2;
+    private static final int MEASURED_RUNS = 5;
+
+    private static final Pattern PEAK_HEAP_PATTERN = Pattern.compile("PLACITUM_PEAK_HEAP=(\\d+)");
+
+    @Test
+    void smallBuildStaysWithinThresholds() throws IOException {
+        measure(new SyntheticBuild("small", 1, 1, 0), new Threshold(30_000, 1_024, 2_000));
+    }
+
+    @Test
+    void mediumBuildStaysWithinThresholds() throws IOException {
+        measure(new SyntheticBuild("medium", 4, 4, 2), new Threshold(60_000, 1_536, 3_000));
+    }
+
+    @Test
+    void largeBuildStaysWithinThresholds() throws IOException {
+        measure(new SyntheticBuild("large", 16, 12, 4), new Threshold(120_000, 2_048, 5_000));
+    }
+
+    private static void measure(final SyntheticBuild build, final Threshold threshold) throws IOException {
+        final StandInEnvironment environment = StandInEnvironment.get();
+        final Path root = environment.directory("builds").resolve(build.name());
+        build.generate(root);
+
+        final List<String> failures = new ArrayList<>();
+        for (final boolean configurationCache : new boolean[] {false, true}) {
+            final Result result = measure(environment, root, configurationCache);
+            System.out.printf("%-8s configuration cache %-8s %8d ms %8s MB peak heap%n",
+                    build.name(),
+                    configurationCache ? "enabled" : "disabled",
+                    result.medianMillis(),
+                    result.peakHeapMegabytes().isPresent() ? String.valueOf(result.peakHeapMegabytes().getAsLong()) : "n/a");
+
+            failures.addAll(threshold.check(build.name(), configurationCache, result));
+        }
+
+        assertTrue(failures.isEmpty(), () -> "Performance thresholds exceeded:%n%s".formatted(String.join("\n", failures)));
+    }
+
+    private static Result measure(final StandInEnvironment environment, final Path root, final boolean configurationCache) {
+        final List<String> arguments = List.of(
+                "help",
+                configurationCache ? "--configuration-cache" : "--no-configuration-cache"
+        );
+
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            environment.runner(root, arguments).build();
+        }
+
+        final long[] durations = new long[MEASURED_RUNS];
+        OptionalLong peakHeap = OptionalLong.empty();
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            final long start = System.nanoTime();
+            final BuildResult result = environment.runner(root, arguments).build();
+            durations[i] = (System.nanoTime() - start) / 1_000_000;
+
+            final Matcher matcher = PEAK_HEAP_PATTERN.matcher(result.getOutput());
+            if (matcher.find()) {
+                final long megabytes = Long.parseLong(matcher.group(1)) / (1024 * 1024);
+                peakHeap = OptionalLong.of(Math.max(peakHeap.orElse(0), megabytes));
+            }
+        }
+
+        Arrays.sort(durations);
+        return new Result(durations[durations.length / 2], peakHeap);
+    }
+
+    private record Result(long medianMillis, OptionalLong peakHeapMegabytes) {
+    }
+
+    /**
+     * The limits of a scenario.
+     *
+     * @param maxConfigurationMillis       The maximum median duration of a run without the configuration cache.
+     * @param maxPeakHeapMegabytes         The maximum peak heap usage during configuration.
+     * @param maxCachedConfigurationMillis The maximum median duration of a run that reuses the configuration cache.
+     */
+    private record Threshold(long maxConfigurationMillis, long maxPeakHeapMegabytes, long maxCachedConfigurationMillis) {
+
+        private List<String> check(final String scenario, final boolean configurationCache, final Result result) {
+            final List<String> failures = new ArrayList<>();
+            final long maxMillis = configurationCache ? maxCachedConfigurationMillis : maxConfigurationMillis;
+            if (result.medianMillis() > maxMillis) {
+                failures.add("%s (configuration cache %s): %d ms exceeds %d ms".formatted(scenario, configurationCache ? "enabled" : "disabled", result.medianMillis(), maxMillis));
+            }
+
+            if (result.peakHeapMegabytes().isPresent() && result.peakHeapMegabytes().getAsLong() > maxPeakHeapMegabytes) {
+                failures.add("%s (configuration cache %s): %d MB peak heap exceeds %d MB".formatted(scenario, configurationCache ? "enabled" : "disabled", result.peakHeapMegabytes().getAsLong(), maxPeakHeapMegabytes));
+            }
+            return failures;
+        }
+    }
+}
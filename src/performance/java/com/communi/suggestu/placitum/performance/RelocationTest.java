@@ -0,0 +1,147 @@
+package com.communi.suggestu.placitum.performance;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.BuildTask;
+import org.gradle.testkit.runner.TaskOutcome;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the inputs Placitum derives from the checkout are relocatable: a synthetic build is built in one
+ * directory, and then built again from a copy in a different directory with the same build cache.
+ * <p>
+ * The cacheable Placitum tasks, including the interpolation of the generated resources of the core project, need to
+ * be loaded from the cache, and the data run arguments and the key of the shared NeoForm runtime, which includes the
+ * hash of the access transformers, need to be the same in both checkouts.
+ */
+class RelocationTest {
+
+    private static final Set<String> CACHEABLE_TASKS = Set.of("writeInterpolationModel", "interpolateResources");
+
+    private static final Pattern DATA_RUN_ARGUMENTS_PATTERN = Pattern.compile("PLACITUM_DATA_RUN_ARGUMENTS=(.*)");
+    private static final Pattern NEOFORM_RUNTIME_KEY_PATTERN = Pattern.compile("PLACITUM_NEOFORM_RUNTIME_KEY=(.*)");
+
+    @Test
+    void cacheableTasksAndDerivedInputsSurviveRelocation() throws IOException {
+        final StandInEnvironment environment = StandInEnvironment.get();
+        final Path workingDirectory = environment.emptyDirectory("relocation");
+
+        final Path initScript = workingDirectory.resolve("build-cache.init.gradle");
+        Files.writeString(initScript, """
+                beforeSettings { settings ->
+                    settings.buildCache {
+                        local {
+                            directory = new File('%s')
+                        }
+                    }
+                }
+                """.formatted(workingDirectory.resolve("build-cache").toString().replace('\\', '/')));
+
+        final SyntheticBuild build = new SyntheticBuild("relocation", 1, 1, 0);
+        final Path original = workingDirectory.resolve("original");
+        final Path relocated = workingDirectory.resolve("checkouts/relocated");
+        for (final Path root : List.of(original, relocated)) {
+            build.generate(root);
+            generateRelocationInputs(root);
+        }
+
+        final BuildResult originalResult = run(environment, original, initScript);
+        assertEquals(TaskOutcome.SUCCESS, outcome(originalResult, ":core:interpolateResources"));
+
+        final BuildResult relocatedResult = run(environment, relocated, initScript);
+
+        final List<String> failures = new ArrayList<>();
+        for (final BuildTask task : relocatedResult.getTasks()) {
+            final String name = task.getPath().substring(task.getPath().lastIndexOf(':') + 1);
+            if (CACHEABLE_TASKS.contains(name) && task.getOutcome() != TaskOutcome.FROM_CACHE && task.getOutcome() != TaskOutcome.NO_SOURCE) {
+                failures.add("%s was %s".formatted(task.getPath(), task.getOutcome()));
+            }
+        }
+        assertTrue(failures.isEmpty(), () -> "Tasks were not loaded from the cache after relocating the build:%n%s".formatted(String.join("\n", failures)));
+        assertEquals(TaskOutcome.FROM_CACHE, outcome(relocatedResult, ":core:interpolateResources"), "The generated resources of the core project were not loaded from the cache");
+
+        final String originalArguments = find(originalResult, DATA_RUN_ARGUMENTS_PATTERN);
+        final String relocatedArguments = find(relocatedResult, DATA_RUN_ARGUMENTS_PATTERN);
+        assertEquals(originalArguments, relocatedArguments, "The data run arguments differ between the checkouts");
+        assertFalse(relocatedArguments.contains(workingDirectory.toString()), () -> "The data run arguments contain an absolute path: %s".formatted(relocatedArguments));
+
+        final String originalKey = find(originalResult, NEOFORM_RUNTIME_KEY_PATTERN);
+        assertTrue(originalKey.contains("/at-"), () -> "The NeoForm runtime key does not include the access transformers: %s".formatted(originalKey));
+        assertEquals(originalKey, find(relocatedResult, NEOFORM_RUNTIME_KEY_PATTERN), "The NeoForm runtime key differs between the checkouts");
+    }
+
+    /**
+     * Adds a generated resource and an access transformer to the core project, and tasks which print the data run
+     * arguments and the NeoForm runtime key.
+     */
+    private static void generateRelocationInputs(final Path root) throws IOException {
+        final Path generated = root.resolve("core/src/main/generated");
+        Files.createDirectories(generated);
+        Files.writeString(generated.resolve("generated.properties"), "generated=${version}\n");
+
+        final Path accessTransformer = root.resolve("core/src/main/resources/META-INF/accesstransformer.cfg");
+        Files.createDirectories(accessTransformer.getParent());
+        Files.writeString(accessTransformer, "public net.minecraft.client.main.Main\n");
+
+        Files.writeString(root.resolve("core/build.gradle"), """
+                platform {
+                    accessTransformers.from('src/main/resources/META-INF/accesstransformer.cfg')
+                }
+
+                tasks.register('printNeoFormRuntimeKey') {
+                    def runtimeAttribute = Attribute.of('com.communi.suggestu.placitum.neoform.runtime', String)
+                    def key = configurations.named('neoFormRuntimeElements').map { it.attributes.getAttribute(runtimeAttribute) }
+                    doLast {
+                        println "PLACITUM_NEOFORM_RUNTIME_KEY=${key.get()}"
+                    }
+                }
+                """);
+
+        Files.writeString(root.resolve("neoforge/build.gradle"), """
+                tasks.register('printDataRunArguments') {
+                    def arguments = runs.named('data').flatMap { it.arguments }
+                    doLast {
+                        println "PLACITUM_DATA_RUN_ARGUMENTS=${arguments.get().join(' ')}"
+                    }
+                }
+                """);
+    }
+
+    private static BuildResult run(final StandInEnvironment environment, final Path root, final Path initScript) {
+        final List<String> arguments = new ArrayList<>();
+        CACHEABLE_TASKS.stream().sorted().forEach(arguments::add);
+        arguments.addAll(List.of(
+                ":core:printNeoFormRuntimeKey",
+                ":neoforge:printDataRunArguments",
+                "--build-cache",
+                "--no-configuration-cache",
+                "--init-script", initScript.toString(),
+                "-Pplacitum.neoform.shared=true"
+        ));
+
+        return environment.runner(root, arguments).build();
+    }
+
+    private static TaskOutcome outcome(final BuildResult result, final String path) {
+        final BuildTask task = result.task(path);
+        return task == null ? null : task.getOutcome();
+    }
+
+    private static String find(final BuildResult result, final Pattern pattern) {
+        final Matcher matcher = pattern.matcher(result.getOutput());
+        assertTrue(matcher.find(), () -> "Expected output matching %s:%n%s".formatted(pattern, result.getOutput()));
+        return matcher.group(1).trim();
+    }
+}
@@ -0,0 +1,34 @@
+package com.communi.suggestu.placitum.performance;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that a resource whose only template markers are Groovy scriptlets is interpolated, instead of being copied
+ * as plain text because it does not contain a dollar sign.
+ */
+class ScriptletTemplateTest {
+
+    @Test
+    void scriptletOnlyResourcesAreInterpolated() throws IOException {
+        final StandInEnvironment environment = StandInEnvironment.get();
+        final Path root = environment.emptyDirectory("builds/scriptlet-template");
+        new SyntheticBuild("scriptlet-template", 0, 0, 0).generate(root);
+
+        Files.writeString(root.resolve("core/src/main/resources/scriptlet.properties"), """
+                version=<%= version %>
+                <% if (version) { %>released=true<% } %>
+                """);
+
+        environment.runner(root, List.of(":core:processResources", "-Pplacitum.loaders=neoforge")).build();
+
+        final Path processed = root.resolve("core/build/resources/main/scriptlet.properties");
+        assertEquals("version=1.0.0\nreleased=true\n", Files.readString(processed), "The scriptlet only resource was not interpolated");
+    }
+}
@@ -0,0 +1,117 @@
+package com.communi.suggestu.placitum.performance;
+
+import org.gradle.testkit.runner.GradleRunner;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The environment the synthetic builds of the performance suite run in.
+ * <p>
+ * Builds run offline, against a repository of stand-in artifacts and a stand-in mirror of the Mojang servers, which
+ * fills the Minecraft artifact store and through it the caches of the loader toolchains. All builds share one gradle
+ * user home inside the working directory, so that nothing leaks into, or is taken from, the user home of the machine.
+ */
+public final class StandInEnvironment {
+
+    /**
+     * The system property holding the working directory of the suite.
+     */
+    public static final String DIRECTORY_PROPERTY = "placitum.performance.directory";
+
+    private static StandInEnvironment instance;
+
+    private final Path workingDirectory;
+    private final Path mirror;
+    private final Path initScript;
+
+    private StandInEnvironment(final Path workingDirectory) throws IOException {
+        this.workingDirectory = workingDirectory;
+        final Path repository = workingDirectory.resolve("repository");
+        StandInRepository.generate(repository);
+
+        this.mirror = workingDirectory.resolve("minecraft-mirror");
+        StandInMinecraftMirror.generate(mirror, SyntheticBuild.MINECRAFT_VERSION);
+
+        this.initScript = workingDirectory.resolve("stand-ins.init.gradle");
+        Files.writeString(initScript, """
+                import java.lang.management.ManagementFactory
+                import java.lang.management.MemoryType
+
+                def heapPools = ManagementFactory.memoryPoolMXBeans.findAll { it.type == MemoryType.HEAP }
+                heapPools.each { it.resetPeakUsage() }
+
+                gradle.beforeProject { project ->
+                    project.repositories.maven {
+                        url = '%s'
+                        name = 'Stand-ins'
+                    }
+                }
+
+                gradle.projectsEvaluated {
+                    println "PLACITUM_PEAK_HEAP=${heapPools.sum { it.peakUsage.used }}"
+                }
+                """.formatted(repository.toUri()));
+    }
+
+    /**
+     * @return The environment of the suite, it is generated once for all tests.
+     */
+    public static synchronized StandInEnvironment get() throws IOException {
+        if (instance == null) {
+            instance = new StandInEnvironment(Path.of(System.getProperty(DIRECTORY_PROPERTY, "build/performance")).toAbsolutePath());
+        }
+        return instance;
+    }
+
+    /**
+     * @param name The name of the directory.
+     * @return A directory inside the working directory of the suite.
+     */
+    public Path directory(final String name) {
+        return workingDirectory.resolve(name);
+    }
+
+    /**
+     * @param name The name of the directory.
+     * @return An empty directory inside the working directory of the suite, anything left by a previous run is removed.
+     */
+    public Path emptyDirectory(final String name) throws IOException {
+        final Path directory = directory(name);
+        if (Files.exists(directory)) {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                for (final Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(path);
+                }
+            }
+        }
+        return Files.createDirectories(directory);
+    }
+
+    /**
+     * Creates a runner for a synthetic build.
+     *
+     * @param root      The root directory of the build.
+     * @param arguments The tasks and arguments of the build, the stand-in arguments are added to them.
+     * @return The runner.
+     */
+    public GradleRunner runner(final Path root, final List<String> arguments) {
+        final List<String> allArguments = new ArrayList<>(arguments);
+        allArguments.addAll(List.of(
+                "--offline",
+                "--init-script", initScript.toString(),
+                "-Pplacitum.minecraft.mirror=%s".formatted(mirror.toUri())
+        ));
+
+        return GradleRunner.create()
+                .withProjectDir(root.toFile())
+                .withTestKitDir(workingDirectory.resolve("testkit").toFile())
+                .withPluginClasspath()
+                .withArguments(allArguments);
+    }
+}
@@ -0,0 +1,128 @@
+package com.communi.suggestu.placitum.performance;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * A local mirror of the Mojang servers, with stand-in files for a single Minecraft version.
+ * <p>
+ * The mirror replicates the paths of the Mojang servers, so it can be passed to a build with
+ * {@code -Pplacitum.minecraft.mirror=<uri of the mirror>} to fill the Minecraft artifact store without network access.
+ * The files only have the structure the store needs, they contain no game code; use a separate gradle user home,
+ * so that the loader caches the store fills are not shared with real builds.
+ */
+public final class StandInMinecraftMirror {
+
+    private static final String PISTON_META = "https://piston-meta.mojang.com";
+    private static final String PISTON_DATA = "https://piston-data.mojang.com";
+    private static final String RESOURCES = "https://resources.download.minecraft.net";
+
+    private StandInMinecraftMirror() {
+        throw new IllegalStateException("Can not instantiate an instance of: StandInMinecraftMirror. This is a utility class");
+    }
+
+    public static void main(final String[] args) throws IOException {
+        final Path root = Path.of(args.length > 0 ? args[0] : "build/minecraft-mirror");
+        generate(root, args.length > 1 ? args[1] : SyntheticBuild.MINECRAFT_VERSION);
+        System.out.println(root.toUri());
+    }
+
+    /**
+     * Writes the mirror into the given directory.
+     *
+     * @param root    The root directory of the mirror.
+     * @param version The Minecraft version the mirror contains.
+     */
+    public static void generate(final Path root, final String version) throws IOException {
+        final byte[] asset = "{\"pack\":{\"description\":\"stand-in\",\"pack_format\":1}}".getBytes(StandardCharsets.UTF_8);
+        final String assetHash = sha1(asset);
+        write(root, RESOURCES + "/%s/%s".formatted(assetHash.substring(0, 2), assetHash), asset);
+
+        final byte[] assetIndex = "{\"objects\":{\"pack.mcmeta\":{\"hash\":\"%s\",\"size\":%d}}}".formatted(assetHash, asset.length).getBytes(StandardCharsets.UTF_8);
+        final String assetIndexUrl = write(root, PISTON_META + "/v1/packages/%s/%s.json".formatted(sha1(assetIndex), version), assetIndex);
+
+        final byte[] client = jar("net/minecraft/client/main/Main.class");
+        final String clientUrl = write(root, PISTON_DATA + "/v1/objects/%s/client.jar".formatted(sha1(client)), client);
+
+        final byte[] server = jar("net/minecraft/server/Main.class");
+        final String serverUrl = write(root, PISTON_DATA + "/v1/objects/%s/server.jar".formatted(sha1(server)), server);
+
+        final byte[] clientMappings = "net.minecraft.client.main.Main -> net.minecraft.client.main.Main:\n".getBytes(StandardCharsets.UTF_8);
+        final String clientMappingsUrl = write(root, PISTON_DATA + "/v1/objects/%s/client.txt".formatted(sha1(clientMappings)), clientMappings);
+
+        final byte[] serverMappings = "net.minecraft.server.Main -> net.minecraft.server.Main:\n".getBytes(StandardCharsets.UTF_8);
+        final String serverMappingsUrl = write(root, PISTON_DATA + "/v1/objects/%s/server.txt".formatted(sha1(serverMappings)), serverMappings);
+
+        // The loader toolchains read the mappings, libraries and java version of the metadata while they are configured.
+        final byte[] metadata = """
+                {
+                  "id": "%s",
+                  "type": "release",
+                  "mainClass": "net.minecraft.client.main.Main",
+                  "javaVersion": {"component": "java-runtime-delta", "majorVersion": 21},
+                  "assets": "%s",
+                  "assetIndex": {"id": "%s", "sha1": "%s", "size": %d, "totalSize": %d, "url": "%s"},
+                  "downloads": {
+                    "client": {"sha1": "%s", "size": %d, "url": "%s"},
+                    "client_mappings": {"sha1": "%s", "size": %d, "url": "%s"},
+                    "server": {"sha1": "%s", "size": %d, "url": "%s"},
+                    "server_mappings": {"sha1": "%s", "size": %d, "url": "%s"}
+                  },
+                  "libraries": [],
+                  "arguments": {"game": [], "jvm": []}
+                }
+                """.formatted(version, version, version, sha1(assetIndex), assetIndex.length, asset.length, assetIndexUrl,
+                        sha1(client), client.length, clientUrl,
+                        sha1(clientMappings), clientMappings.length, clientMappingsUrl,
+                        sha1(server), server.length, serverUrl,
+                        sha1(serverMappings), serverMappings.length, serverMappingsUrl)
+                .getBytes(StandardCharsets.UTF_8);
+        final String metadataUrl = write(root, PISTON_META + "/v1/packages/%s/%s.json".formatted(sha1(metadata), version), metadata);
+
+        final byte[] manifest = """
+                {
+                  "latest": {"release": "%s", "snapshot": "%s"},
+                  "versions": [{"id": "%s", "type": "release", "url": "%s", "sha1": "%s"}]
+                }
+                """.formatted(version, version, version, metadataUrl, sha1(metadata))
+                .getBytes(StandardCharsets.UTF_8);
+        write(root, PISTON_META + "/mc/game/version_manifest_v2.json", manifest);
+    }
+
+    /**
+     * Writes a file at the path of its url, relative to the root of the mirror.
+     *
+     * @return The url of the file.
+     */
+    private static String write(final Path root, final String url, final byte[] content) throws IOException {
+        final Path target = root.resolve(url.substring(url.indexOf('/', "https://".length()) + 1));
+        Files.createDirectories(target.getParent());
+        Files.write(target, content);
+        return url;
+    }
+
+    private static byte[] jar(final String entry) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(output)) {
+            zip.putNextEntry(new ZipEntry(entry));
+            zip.closeEntry();
+        }
+        return output.toByteArray();
+    }
+
+    private static String sha1(final byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-1").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not supported", e);
+        }
+    }
+}
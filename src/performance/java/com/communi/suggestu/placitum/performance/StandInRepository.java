@@ -0,0 +1,179 @@
+package com.communi.suggestu.placitum.performance;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * A local maven repository with stand-in artifacts for the loader dependencies a synthetic build declares.
+ * <p>
+ * The artifacts only have the structure the loader toolchains read while a build is configured, they contain no code.
+ * The NeoForm and NeoForge stand-ins therefore carry complete configurations: the NeoForm steps, functions and
+ * libraries, and the NeoForge userdev runs, libraries and patcher, with every tool and library they reference
+ * published as well.
+ */
+public final class StandInRepository {
+
+    private static final String INSTALLER_TOOLS = "net.neoforged.installertools:installertools:2.1.2:fatjar";
+    private static final String BINARY_PATCHER = "net.neoforged.installertools:binarypatcher:2.1.2:fatjar";
+    private static final String MERGE_TOOL = "net.neoforged:mergetool:2.0.0:fatjar";
+    private static final String AUTO_RENAMING_TOOL = "net.neoforged:AutoRenamingTool:2.0.3:all";
+    private static final String DECOMPILER = "org.vineflower:vineflower:1.10.1";
+    private static final String MINECRAFT_LIBRARY = "com.mojang:logging:1.2.7";
+    private static final String NEOFORGE_LIBRARY = "net.neoforged:bus:8.0.2";
+
+    private StandInRepository() {
+        throw new IllegalStateException("Can not instantiate an instance of: StandInRepository. This is a utility class");
+    }
+
+    /**
+     * Writes the repository into the given directory.
+     *
+     * @param root The root directory of the repository.
+     */
+    public static void generate(final Path root) throws IOException {
+        publish(root, "net.neoforged:neoform:%s".formatted(SyntheticBuild.NEOFORM_VERSION), "zip", neoFormEntries());
+        publish(root, "net.neoforged:neoforge:%s".formatted(SyntheticBuild.NEOFORGE_VERSION), "jar", Map.of("META-INF/MANIFEST.MF", "Manifest-Version: 1.0\n"));
+        publish(root, "net.neoforged:neoforge:%s:userdev".formatted(SyntheticBuild.NEOFORGE_VERSION), "jar", userDevEntries());
+        publish(root, "net.neoforged:neoforge:%s:universal".formatted(SyntheticBuild.NEOFORGE_VERSION), "jar", Map.of("META-INF/MANIFEST.MF", "Manifest-Version: 1.0\n"));
+        publish(root, "net.neoforged:neoforge:%s:sources".formatted(SyntheticBuild.NEOFORGE_VERSION), "jar", Map.of("net/neoforged/neoforge/common/NeoForge.java", "package net.neoforged.neoforge.common;\n"));
+
+        for (final String tool : new String[] {INSTALLER_TOOLS, BINARY_PATCHER, MERGE_TOOL, AUTO_RENAMING_TOOL, DECOMPILER}) {
+            publish(root, tool, "jar", Map.of("META-INF/MANIFEST.MF", "Manifest-Version: 1.0\nMain-Class: stand.in.Main\n"));
+        }
+        publish(root, MINECRAFT_LIBRARY, "jar", Map.of("META-INF/MANIFEST.MF", "Manifest-Version: 1.0\n"));
+        publish(root, NEOFORGE_LIBRARY, "jar", Map.of("META-INF/MANIFEST.MF", "Manifest-Version: 1.0\n"));
+
+        publish(root, "org.parchmentmc.data:parchment-%s:%s".formatted(SyntheticBuild.MINECRAFT_VERSION, SyntheticBuild.PARCHMENT_VERSION), "zip", Map.of("parchment.json", "{\"version\":\"1.1.0\",\"classes\":[]}"));
+        publish(root, "net.fabricmc:fabric-loader:%s".formatted(SyntheticBuild.FABRIC_LOADER_VERSION), "jar", Map.of("fabric.mod.json", "{\"schemaVersion\":1,\"id\":\"fabricloader\",\"version\":\"%s\"}".formatted(SyntheticBuild.FABRIC_LOADER_VERSION)));
+        publish(root, "net.fabricmc.fabric-api:fabric-api:%s+%s".formatted(SyntheticBuild.FABRIC_API_VERSION, SyntheticBuild.MINECRAFT_VERSION), "jar", Map.of("fabric.mod.json", "{\"schemaVersion\":1,\"id\":\"fabric-api\",\"version\":\"%s\"}".formatted(SyntheticBuild.FABRIC_API_VERSION)));
+        publish(root, "org.jetbrains:annotations:%s".formatted(SyntheticBuild.ANNOTATIONS_VERSION), "jar", Map.of("META-INF/MANIFEST.MF", "Manifest-Version: 1.0\n"));
+    }
+
+    /**
+     * The NeoForm configuration in version 4 of its specification, with the steps of the joined distribution.
+     */
+    private static Map<String, String> neoFormEntries() {
+        final Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("config.json", """
+                {
+                  "spec": 4,
+                  "version": "%1$s",
+                  "official": true,
+                  "java_target": 21,
+                  "encoding": "UTF-8",
+                  "data": {
+                    "inject": "inject/",
+                    "patches": {"client": "patches/client/", "joined": "patches/joined/", "server": "patches/server/"}
+                  },
+                  "steps": {
+                    "joined": [
+                      {"type": "downloadManifest"},
+                      {"type": "downloadJson"},
+                      {"type": "downloadClient"},
+                      {"type": "downloadServer"},
+                      {"type": "downloadClientMappings"},
+                      {"type": "bundleExtractJar", "name": "extractServer", "input": "{downloadServerOutput}"},
+                      {"type": "strip", "name": "stripClient", "input": "{downloadClientOutput}"},
+                      {"type": "strip", "name": "stripServer", "input": "{extractServerOutput}"},
+                      {"type": "merge", "client": "{stripClientOutput}", "server": "{stripServerOutput}", "version": "%1$s"},
+                      {"type": "listLibraries"},
+                      {"type": "rename", "input": "{mergeOutput}", "libraries": "{listLibrariesOutput}", "mappings": "{downloadClientMappingsOutput}"},
+                      {"type": "decompile", "input": "{renameOutput}", "libraries": "{listLibrariesOutput}"},
+                      {"type": "inject", "input": "{decompileOutput}"},
+                      {"type": "patch", "input": "{injectOutput}"}
+                    ]
+                  },
+                  "functions": {
+                    "bundleExtractJar": {"version": "%2$s", "repo": "https://maven.neoforged.net/releases/", "args": ["--task", "bundler_extract", "--input", "{input}", "--output", "{output}", "--jar-only"], "jvmargs": []},
+                    "merge": {"version": "%3$s", "repo": "https://maven.neoforged.net/releases/", "args": ["--client", "{client}", "--server", "{server}", "--ann", "{version}", "--output", "{output}", "--inject", "false"], "jvmargs": []},
+                    "rename": {"version": "%4$s", "repo": "https://maven.neoforged.net/releases/", "args": ["--input", "{input}", "--output", "{output}", "--map", "{mappings}", "--cfg", "{libraries}", "--ann-fix", "--ids-fix", "--src-fix", "--record-fix"], "jvmargs": []},
+                    "decompile": {"version": "%5$s", "repo": "https://repo1.maven.org/maven2/", "args": ["--decompile-inner", "--remove-bridge", "--decompile-generics", "-cfg", "{libraries}", "{input}", "{output}"], "jvmargs": ["-Xmx4G"]}
+                  },
+                  "libraries": {
+                    "client": ["%6$s"],
+                    "joined": ["%6$s"],
+                    "server": ["%6$s"]
+                  }
+                }
+                """.formatted(SyntheticBuild.MINECRAFT_VERSION, INSTALLER_TOOLS, MERGE_TOOL, AUTO_RENAMING_TOOL, DECOMPILER, MINECRAFT_LIBRARY));
+        entries.put("inject/package-info-template.java", "@javax.annotation.ParametersAreNonnullByDefault\npackage {PACKAGE};\n");
+        entries.put("patches/joined/.keep", "");
+        return entries;
+    }
+
+    /**
+     * The NeoForge userdev configuration in version 2 of its specification.
+     */
+    private static Map<String, String> userDevEntries() {
+        final Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("config.json", """
+                {
+                  "spec": 2,
+                  "mcp": "net.neoforged:neoform:%1$s@zip",
+                  "ats": ["ats/"],
+                  "binpatches": "joined.lzma",
+                  "binpatcher": {"version": "%2$s", "args": ["--clean", "{clean}", "--output", "{output}", "--apply", "{patch}"]},
+                  "patches": "patches/",
+                  "sources": "net.neoforged:neoforge:%3$s:sources",
+                  "universal": "net.neoforged:neoforge:%3$s:universal",
+                  "libraries": ["%4$s"],
+                  "modules": [],
+                  "runs": {
+                    "client": {"main": "net.neoforged.devlaunch.Main", "args": ["--launchTarget", "forgeclientuserdev"], "jvmArgs": [], "client": true, "env": {}, "props": {}},
+                    "server": {"main": "net.neoforged.devlaunch.Main", "args": ["--launchTarget", "forgeserveruserdev"], "jvmArgs": [], "client": false, "env": {}, "props": {}},
+                    "data": {"main": "net.neoforged.devlaunch.Main", "args": ["--launchTarget", "forgedatauserdev"], "jvmArgs": [], "client": true, "env": {}, "props": {}}
+                  }
+                }
+                """.formatted(SyntheticBuild.NEOFORM_VERSION, BINARY_PATCHER, SyntheticBuild.NEOFORGE_VERSION, NEOFORGE_LIBRARY));
+        entries.put("ats/accesstransformer.cfg", "# Stand-in access transformer\n");
+        entries.put("joined.lzma", "");
+        entries.put("patches/.keep", "");
+        return entries;
+    }
+
+    /**
+     * Publishes an artifact, and the pom of its module when it has not been published yet.
+     *
+     * @param coordinates The coordinates of the artifact, {@code group:name:version[:classifier]}.
+     */
+    private static void publish(final Path root, final String coordinates, final String extension, final Map<String, String> entries) throws IOException {
+        final String[] parts = coordinates.split(":");
+        final String group = parts[0];
+        final String name = parts[1];
+        final String version = parts[2];
+        final String classifier = parts.length > 3 ? "-" + parts[3] : "";
+
+        final Path directory = root.resolve(group.replace('.', '/')).resolve(name).resolve(version);
+        Files.createDirectories(directory);
+
+        final Path pom = directory.resolve("%s-%s.pom".formatted(name, version));
+        if (!Files.exists(pom)) {
+            Files.writeString(pom, """
+                    <?xml version="1.0" encoding="UTF-8"?>
+                    <project xmlns="http://maven.apache.org/POM/4.0.0">
+                      <modelVersion>4.0.0</modelVersion>
+                      <groupId>%s</groupId>
+                      <artifactId>%s</artifactId>
+                      <version>%s</version>
+                      <packaging>%s</packaging>
+                    </project>
+                    """.formatted(group, name, version, classifier.isEmpty() ? extension : "jar"));
+        }
+
+        try (OutputStream output = Files.newOutputStream(directory.resolve("%s-%s%s.%s".formatted(name, version, classifier, extension)));
+             ZipOutputStream zip = new ZipOutputStream(output)) {
+            for (final Map.Entry<String, String> entry : entries.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.communi.suggestu.placitum.performance;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A generated multi loader build, registered through the settings extension the same way real builds are.
+ *
+ * @param name                  The name of the scenario.
+ * @param commonProjects        The amount of common projects.
+ * @param pluginProjects        The amount of plugin projects.
+ * @param devOnlyPluginProjects The amount of dev only plugin projects.
+ */
+public record SyntheticBuild(String name, int commonProjects, int pluginProjects, int devOnlyPluginProjects) {
+
+    static final String MINECRAFT_VERSION = "1.21.1";
+    static final String NEOFORM_VERSION = "1.21.1-20240808.144430";
+    static final String NEOFORGE_VERSION = "21.1.77";
+    static final String PARCHMENT_VERSION = "2024.11.17";
+    static final String FABRIC_LOADER_VERSION = "0.16.9";
+    static final String FABRIC_API_VERSION = "0.116.7";
+    static final String ANNOTATIONS_VERSION = "24.0.1";
+
+    /**
+     * Writes the build into the given directory.
+     *
+     * @param root The root directory of the build.
+     */
+    public void generate(final Path root) throws IOException {
+        Files.createDirectories(root);
+
+        final List<String> registrations = new ArrayList<>();
+        registrations.add("    core ':core'");
+        for (int i = 0; i < commonProjects; i++) {
+            registrations.add("    common ':common-%d'".formatted(i));
+        }
+        for (int i = 0; i < pluginProjects; i++) {
+            registrations.add("    plugin ':plugin-%d'".formatted(i));
+        }
+        for (int i = 0; i < devOnlyPluginProjects; i++) {
+            registrations.add("    devOnlyPlugin ':dev-plugin-%d'".formatted(i));
+        }
+        registrations.add("    neoforge ':neoforge'");
+        registrations.add("    fabric ':fabric'");
+        registrations.add("    modernFabric ':modern-fabric'");
+
+        Files.writeString(root.resolve("settings.gradle"), """
+                plugins {
+                    id 'com.communi-suggestu.placitum'
+                }
+
+                rootProject.name = '%s'
+
+                platforms {
+                %s
+                }
+                """.formatted(name, String.join("\n", registrations)));
+
+        Files.writeString(root.resolve("gradle.properties"), """
+                org.gradle.jvmargs=-Xmx2g
+                org.gradle.parallel=true
+                version=1.0.0
+                group=com.example.synthetic
+                modId=synthetic
+                project.owner=placitum
+                java.version=21
+                minecraft.version=%s
+                common.neoform.version=%s
+                neoforge.version=%s
+                parchment.version=%s
+                fabric.loader.version=%s
+                fabric.api.version=%s
+                jetbrains.annotations.version=%s
+                """.formatted(MINECRAFT_VERSION, NEOFORM_VERSION, NEOFORGE_VERSION, PARCHMENT_VERSION,
+                FABRIC_LOADER_VERSION, FABRIC_API_VERSION, ANNOTATIONS_VERSION));
+
+        for (int i = 0; i < commonProjects; i++) {
+            generateSources(root.resolve("common-%d".formatted(i)), "common%d".formatted(i));
+        }
+        for (int i = 0; i < pluginProjects; i++) {
+            generateSources(root.resolve("plugins/plugin-%d".formatted(i)), "plugin%d".formatted(i));
+        }
+        for (int i = 0; i < devOnlyPluginProjects; i++) {
+            generateSources(root.resolve("plugins/dev-plugin-%d".formatted(i)), "devplugin%d".formatted(i));
+        }
+        generateSources(root.resolve("core"), "core");
+        generateSources(root.resolve("neoforge"), "neoforge");
+        generateSources(root.resolve("fabric"), "fabric");
+        generateSources(root.resolve("modern-fabric"), "modernfabric");
+    }
+
+    private static void generateSources(final Path project, final String packageName) throws IOException {
+        final Path sources = project.resolve("src/main/java/com/example/synthetic/%s".formatted(packageName));
+        Files.createDirectories(sources);
+        Files.writeString(sources.resolve("Marker.java"), """
+                package com.example.synthetic.%s;
+
+                public final class Marker {
+                }
+                """.formatted(packageName));
+
+        final Path resources = project.resolve("src/main/resources");
+        Files.createDirectories(resources);
+        Files.writeString(resources.resolve("synthetic.properties"), "version=${version}\nminecraft=${minecraft.version}\n");
+    }
+}